@@ -0,0 +1,96 @@
+package com.guap.articlecatalog.benchmark;
+
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.service.ArticleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запись статьи с PDF (файл на диск и строка в БД) и чтение PDF по id для файлов разного размера.
+ * Файлы, записанные за итерацию, удаляются после неё, чтобы не заполнять диск.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleFileBenchmark {
+    
+    @Param({"10240", "1048576", "8388608"})
+    int fileSize;
+    
+    private Path uploadDir;
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+    private User owner;
+    private MockMultipartFile pdf;
+    private Long storedArticleId;
+    private final List<Path> written = new ArrayList<>();
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("bench-files");
+        context = BenchmarkApplication.start("files", uploadDir);
+        articleService = context.getBean(ArticleService.class);
+        owner = BenchmarkApplication.testUser(context);
+        pdf = new MockMultipartFile("pdfFile", "bench.pdf", "application/pdf",
+                BenchmarkApplication.pdfContent(fileSize));
+        storedArticleId = articleService.saveArticle(newArticle(), owner, pdf).getId();
+    }
+    
+    @TearDown(Level.Iteration)
+    public void deleteWrittenFiles() throws IOException {
+        for (Path path : written) {
+            Files.deleteIfExists(path);
+        }
+        written.clear();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        BenchmarkApplication.deleteRecursively(uploadDir);
+    }
+    
+    @Benchmark
+    public Article saveArticle() {
+        Article saved = articleService.saveArticle(newArticle(), owner, pdf);
+        written.add(Path.of(saved.getPdfFilePath()));
+        return saved;
+    }
+    
+    @Benchmark
+    public byte[] getPdfFile() {
+        return articleService.getPdfFile(storedArticleId);
+    }
+    
+    private Article newArticle() {
+        Article article = new Article();
+        article.setTitle("Бенчмарк");
+        article.setAuthors("Автор");
+        article.setTopic("Тема");
+        return article;
+    }
+}
@@ -0,0 +1,113 @@
+package com.guap.articlecatalog.benchmark;
+
+import com.guap.articlecatalog.ArticleCatalogApplication;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.repository.UserRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Запуск приложения для бенчмарков: своя база H2 в памяти, временный каталог файлов,
+ * без лимитов запросов, допуска к диску и кэша поиска - измеряется сам код, а не защита от нагрузки.
+ */
+final class BenchmarkApplication {
+    
+    static final String TEST_USER = "testuser";
+    static final int TOPICS = 20;
+    static final int AUTHORS = 200;
+    
+    private static final int SEED_BATCH = 1000;
+    
+    private BenchmarkApplication() {
+    }
+    
+    static ConfigurableApplicationContext start(String name, Path uploadDir) {
+        return new SpringApplicationBuilder(ArticleCatalogApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                // Аргументы командной строки, а не properties(): те ниже application.properties по приоритету
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench_" + name + "_" + System.nanoTime(),
+                        "--app.upload.dir=" + uploadDir,
+                        "--app.ratelimit.enabled=false",
+                        "--app.bulkhead.enabled=false",
+                        "--app.search.coalescing.ttl-ms=0",
+                        // Как в рабочей среде: шаблоны разбираются один раз
+                        "--spring.thymeleaf.cache=true",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.guap.articlecatalog=WARN",
+                        "--logging.level.com.guap.articlecatalog.controller=WARN",
+                        "--logging.level.com.guap.articlecatalog.service=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+    
+    static User testUser(ConfigurableApplicationContext context) {
+        return context.getBean(UserRepository.class).findByUsername(TEST_USER).orElseThrow();
+    }
+    
+    // Статьи без файлов: темы, авторы и ключевые слова повторяются, чтобы фильтры находили строки
+    static void seedArticles(ConfigurableApplicationContext context, int count) {
+        ArticleRepository repository = context.getBean(ArticleRepository.class);
+        User owner = testUser(context);
+        LocalDateTime now = LocalDateTime.now();
+        List<Article> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < count; i++) {
+            Article article = new Article();
+            article.setTitle("Статья " + i);
+            article.setAuthors("Автор " + (i % AUTHORS) + ", Соавтор " + (i % 7));
+            article.setTopic("Тема " + (i % TOPICS));
+            article.setKeywords("ключ" + (i % 50) + ", слово" + (i % 13));
+            article.setPublicationYear(2000 + i % 25);
+            article.setPdfFileName("article-" + i + ".pdf");
+            article.setPdfFilePath("missing/article-" + i + ".pdf");
+            article.setFileSize(0L);
+            article.setUploadDate(now.minusMinutes(i));
+            article.setUser(owner);
+            batch.add(article);
+            if (batch.size() == SEED_BATCH) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+    }
+    
+    static byte[] pdfContent(int size) {
+        byte[] content = new byte[size];
+        byte[] header = "%PDF-1.4\n".getBytes();
+        System.arraycopy(header, 0, content, 0, Math.min(header.length, size));
+        return content;
+    }
+    
+    static void deleteRecursively(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.guap.articlecatalog.benchmark;
+
+import com.guap.articlecatalog.dto.ArticleSummary;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.service.ArticleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск статей на каталогах разного размера: страница списка без фильтров,
+ * по теме (отдельный индекс) и по автору с ключевым словом (LIKE по всей таблице).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    
+    @Param({"1000", "10000"})
+    int datasetSize;
+    
+    private final Pageable firstPage = PageRequest.of(0, 10, Sort.by("uploadDate").descending());
+    
+    private Path uploadDir;
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("bench-search");
+        context = BenchmarkApplication.start("search", uploadDir);
+        articleService = context.getBean(ArticleService.class);
+        BenchmarkApplication.seedArticles(context, datasetSize);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        BenchmarkApplication.deleteRecursively(uploadDir);
+    }
+    
+    @Benchmark
+    public Page<ArticleSummary> listPage() {
+        return articleService.searchArticleSummaries(null, null, null, firstPage);
+    }
+    
+    @Benchmark
+    public Page<ArticleSummary> byTopic() {
+        return articleService.searchArticleSummaries(null, "Тема 7", null, firstPage);
+    }
+    
+    @Benchmark
+    public Page<Article> byAuthorAndKeyword() {
+        return articleService.searchArticles("Автор 42", null, "ключ17", firstPage);
+    }
+}
@@ -0,0 +1,101 @@
+package com.guap.articlecatalog.benchmark;
+
+import com.guap.articlecatalog.dto.ArticleSummary;
+import com.guap.articlecatalog.service.ArticleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отрисовка articles/list.html с той же моделью, что собирает ArticleController.listArticles.
+ * Данные страницы готовятся один раз - измеряется только шаблонизатор.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderBenchmark {
+    
+    private static final int DATASET_SIZE = 100;
+    
+    private Path uploadDir;
+    private ConfigurableApplicationContext context;
+    private SpringTemplateEngine templateEngine;
+    private JakartaServletWebApplication webApplication;
+    private Map<String, Object> model;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        uploadDir = Files.createTempDirectory("bench-templates");
+        context = BenchmarkApplication.start("templates", uploadDir);
+        templateEngine = context.getBean(SpringTemplateEngine.class);
+        webApplication = JakartaServletWebApplication.buildApplication(new MockServletContext());
+        
+        BenchmarkApplication.seedArticles(context, DATASET_SIZE);
+        ArticleService articleService = context.getBean(ArticleService.class);
+        Page<ArticleSummary> page = articleService.searchArticleSummaries(null, null, null,
+                PageRequest.of(0, 10, Sort.by("uploadDate").descending()));
+        
+        model = new HashMap<>();
+        model.put("articles", page.getContent());
+        model.put("currentPage", 0);
+        model.put("totalPages", page.getTotalPages());
+        model.put("totalItems", page.getTotalElements());
+        model.put("topics", articleService.getAllTopics());
+        model.put("selectedAuthor", null);
+        model.put("selectedTopic", null);
+        model.put("selectedKeyword", null);
+        
+        // sec:authentication в шаблоне читает пользователя из SecurityContextHolder;
+        // общий контекст - потоки JMH не обязаны совпадать с потоком @Setup
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                BenchmarkApplication.TEST_USER, null, List.of()));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+        BenchmarkApplication.deleteRecursively(uploadDir);
+    }
+    
+    @Benchmark
+    public String renderArticleList() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/articles");
+        IWebExchange exchange = webApplication.buildExchange(request, new MockHttpServletResponse());
+        return templateEngine.process("articles/list", new WebContext(exchange, Locale.getDefault(), model));
+    }
+}
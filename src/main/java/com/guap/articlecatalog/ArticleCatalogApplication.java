@@ -2,8 +2,14 @@ package com.guap.articlecatalog;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.guap.articlecatalog.config.NativeHints;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 public class ArticleCatalogApplication {
     public static void main(String[] args) {
         SpringApplication.run(ArticleCatalogApplication.class, args);
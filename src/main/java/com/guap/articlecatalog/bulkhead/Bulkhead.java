@@ -0,0 +1,95 @@
+package com.guap.articlecatalog.bulkhead;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Ограничение числа одновременных операций одного класса. Семафор честный (FIFO),
+ * очередь ожидающих ограничена maxQueue, ожидание - maxWaitMs.
+ */
+public class Bulkhead {
+    
+    public enum Rejection { QUEUE_FULL, TIMEOUT }
+    
+    private final String name;
+    private final Semaphore permits;
+    private final int maxQueue;
+    private final long maxWaitMs;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    
+    private final Timer waitTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+    
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, long maxWaitMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueue = maxQueue;
+        this.maxWaitMs = maxWaitMs;
+        
+        Gauge.builder("bulkhead.active", active, AtomicInteger::get)
+                .description("Выполняющиеся операции")
+                .tag("name", name).register(meterRegistry);
+        Gauge.builder("bulkhead.queued", queued, AtomicInteger::get)
+                .description("Операции в очереди")
+                .tag("name", name).register(meterRegistry);
+        waitTimer = Timer.builder("bulkhead.wait")
+                .description("Ожидание разрешения")
+                .tag("name", name).register(meterRegistry);
+        queueFullCounter = rejectedCounter(meterRegistry, "queue_full");
+        timeoutCounter = rejectedCounter(meterRegistry, "timeout");
+    }
+    
+    /**
+     * Ждёт разрешения не дольше maxWaitMs. Возвращает null, если разрешение получено
+     * (его нужно вернуть через release()), иначе - причину отказа.
+     */
+    public Rejection acquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            active.incrementAndGet();
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            queueFullCounter.increment();
+            return Rejection.QUEUE_FULL;
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                timeoutCounter.increment();
+                return Rejection.TIMEOUT;
+            }
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        active.incrementAndGet();
+        return null;
+    }
+    
+    public void release() {
+        active.decrementAndGet();
+        permits.release();
+    }
+    
+    public String getName() { return name; }
+    int getQueued() { return queued.get(); }
+    int getActive() { return active.get(); }
+    
+    private Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("bulkhead.rejected")
+                .description("Операции, отклонённые с 503")
+                .tag("name", name).tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
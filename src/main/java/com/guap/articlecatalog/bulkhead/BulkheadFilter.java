@@ -0,0 +1,95 @@
+package com.guap.articlecatalog.bulkhead;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Допуск запросов к файловому хранилищу через DiskBulkheads. Разрешение держится
+ * до конца ответа, для потоковых ответов (архив) - до завершения асинхронной записи.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+    
+    private final DiskBulkheads diskBulkheads;
+    
+    public BulkheadFilter(DiskBulkheads diskBulkheads) {
+        this.diskBulkheads = diskBulkheads;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = diskBulkheads.isEnabled() ? diskBulkheads.forRequest(request) : null;
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        Bulkhead.Rejection rejection;
+        try {
+            rejection = bulkhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejection = Bulkhead.Rejection.TIMEOUT;
+        }
+        if (rejection != null) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(diskBulkheads.getRetryAfterSeconds()));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Сервер перегружен операциями с файлами. Повторите позже");
+            return;
+        }
+        
+        Permit permit = new Permit(bulkhead);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+    
+    // Разрешение возвращается ровно один раз, чем бы ни закончился асинхронный ответ
+    private static final class Permit implements AsyncListener {
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private Permit(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+        
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) { release(); }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) { release(); }
+        
+        @Override
+        public void onError(AsyncEvent event) { release(); }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Повторный startAsync переносит слушателей; разрешение по-прежнему у запроса
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.guap.articlecatalog.bulkhead;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Раздельные ограничения для записи и чтения файлов хранилища: всплеск загрузок
+ * занимает только свои разрешения и не задерживает скачивания, и наоборот.
+ * Импорт архива длится минутами и ограничивается отдельно, чтобы не занимать
+ * разрешения одиночных загрузок.
+ */
+@Component
+public class DiskBulkheads {
+    
+    private static final AntPathMatcher pathMatcher = new AntPathMatcher();
+    
+    private final MeterRegistry meterRegistry;
+    private Bulkhead write;
+    private Bulkhead read;
+    private Bulkhead archiveImport;
+    
+    @Value("${app.bulkhead.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${app.bulkhead.retry-after-seconds:2}")
+    private long retryAfterSeconds = 2;
+    
+    @Value("${app.bulkhead.write.max-concurrent:4}")
+    private int writeMaxConcurrent = 4;
+    
+    @Value("${app.bulkhead.write.max-queue:16}")
+    private int writeMaxQueue = 16;
+    
+    @Value("${app.bulkhead.write.max-wait-ms:2000}")
+    private long writeMaxWaitMs = 2000;
+    
+    @Value("${app.bulkhead.read.max-concurrent:16}")
+    private int readMaxConcurrent = 16;
+    
+    @Value("${app.bulkhead.read.max-queue:64}")
+    private int readMaxQueue = 64;
+    
+    @Value("${app.bulkhead.read.max-wait-ms:2000}")
+    private long readMaxWaitMs = 2000;
+    
+    @Value("${app.bulkhead.import.max-concurrent:1}")
+    private int importMaxConcurrent = 1;
+    
+    @Value("${app.bulkhead.import.max-queue:2}")
+    private int importMaxQueue = 2;
+    
+    @Value("${app.bulkhead.import.max-wait-ms:2000}")
+    private long importMaxWaitMs = 2000;
+    
+    public DiskBulkheads(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    public void init() {
+        write = new Bulkhead("disk-write", writeMaxConcurrent, writeMaxQueue, writeMaxWaitMs, meterRegistry);
+        read = new Bulkhead("disk-read", readMaxConcurrent, readMaxQueue, readMaxWaitMs, meterRegistry);
+        archiveImport = new Bulkhead("disk-import", importMaxConcurrent, importMaxQueue, importMaxWaitMs, meterRegistry);
+    }
+    
+    public boolean isEnabled() { return enabled; }
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+    public Bulkhead getWrite() { return write; }
+    public Bulkhead getRead() { return read; }
+    public Bulkhead getImport() { return archiveImport; }
+    
+    // Маршруты, работающие с файлами хранилища. Выгрузка каталога читает только БД
+    // и держит ответ долго, поэтому ограничивается лишь лимитом запросов
+    public Bulkhead forRequest(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        
+        if ("POST".equals(method)) {
+            if (matches(path, "/articles/import")) {
+                return archiveImport;
+            }
+            if (matches(path, "/articles/add", "/articles/edit/*", "/user/profile/upload-avatar")) {
+                return write;
+            }
+            return null;
+        }
+        if ("GET".equals(method) && matches(path, "/articles/download/*", "/articles/archive", "/uploads/**")) {
+            return read;
+        }
+        return null;
+    }
+    
+    private static boolean matches(String path, String... patterns) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.guap.articlecatalog.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Метод только читает данные: одновременные вызовы с одинаковыми аргументами
+ * объединяются в одно выполнение, результат кратко кэшируется (см. RequestCoalescer).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
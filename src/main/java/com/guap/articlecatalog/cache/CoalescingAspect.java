@@ -0,0 +1,42 @@
+package com.guap.articlecatalog.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Применяет RequestCoalescer к методам с @Coalesced. Стоит снаружи транзакции:
+ * ожидающие вызовы не открывают транзакцию и не занимают соединение с БД.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect {
+
+    private final RequestCoalescer requestCoalescer;
+
+    public CoalescingAspect(RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    @Around("@annotation(com.guap.articlecatalog.cache.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        return requestCoalescer.execute(joinPoint.getSignature().toLongString(),
+                normalize(joinPoint.getArgs()), joinPoint::proceed);
+    }
+
+    // Пустая строка и null в условиях поиска равнозначны
+    private static List<Object> normalize(Object[] arguments) {
+        List<Object> normalized = new ArrayList<>(arguments.length);
+        for (Object argument : arguments) {
+            normalized.add("".equals(argument) ? null : argument);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,190 @@
+package com.guap.articlecatalog.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.guap.articlecatalog.event.ArticleChangedEvent;
+import com.guap.articlecatalog.event.ArticleCountsChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Объединение одинаковых одновременных запросов (single-flight) и короткий кэш результатов.
+ * Первый вызов с данным ключом выполняет запрос, остальные ждут его результат;
+ * готовый результат ещё ttl-ms отдаётся из кэша.
+ * <p>
+ * Любое изменение статей очищает кэш. Результат вычисления, начатого до изменения,
+ * в кэш не попадает (сверка поколений).
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Key, CachedResult> results = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter executedCounter;
+    private final Counter joinedCounter;
+    private final Counter cachedCounter;
+
+    @Value("${app.search.coalescing.ttl-ms:2000}")
+    private long ttlMs = 2000;
+
+    @Value("${app.search.coalescing.max-entries:1000}")
+    private int maxEntries = 1000;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        executedCounter = outcomeCounter(meterRegistry, "executed");
+        joinedCounter = outcomeCounter(meterRegistry, "joined");
+        cachedCounter = outcomeCounter(meterRegistry, "cached");
+        // Доля вызовов, обслуженных без собственного запроса к БД
+        Gauge.builder("search.coalescing.ratio", this, RequestCoalescer::coalescingRatio)
+                .description("Доля объединённых и взятых из кэша вызовов")
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface Call {
+        Object proceed() throws Throwable;
+    }
+
+    public Object execute(String operation, List<Object> arguments, Call call) throws Throwable {
+        Key key = new Key(operation, arguments);
+
+        CachedResult cached = results.get(key);
+        if (cached != null && !cached.isExpired(System.nanoTime())) {
+            cachedCounter.increment();
+            return cached.value;
+        }
+
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            joinedCounter.increment();
+            return await(existing);
+        }
+
+        executedCounter.increment();
+        long startGeneration = generation.get();
+        try {
+            Object value = call.proceed();
+            if (generation.get() == startGeneration) {
+                store(key, value);
+            }
+            own.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Ошибка передаётся ожидающим, но не кэшируется
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArticleCountsChanged(ArticleCountsChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        results.clear();
+    }
+
+    double coalescingRatio() {
+        double saved = joinedCounter.count() + cachedCounter.count();
+        double total = saved + executedCounter.count();
+        return total == 0 ? 0 : saved / total;
+    }
+
+    private void store(Key key, Object value) {
+        if (ttlMs <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (results.size() >= maxEntries) {
+            results.values().removeIf(result -> result.isExpired(now));
+            if (results.size() >= maxEntries) {
+                return;
+            }
+        }
+        results.put(key, new CachedResult(value, now + ttlMs * 1_000_000));
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException | CompletionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("search.coalescing.calls")
+                .description("Вызовы объединяемых методов чтения")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Key {
+        private final String operation;
+        private final List<Object> arguments;
+
+        private Key(String operation, List<Object> arguments) {
+            this.operation = operation;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return operation.equals(key.operation) && arguments.equals(key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * operation.hashCode() + arguments.hashCode();
+        }
+    }
+
+    private static final class CachedResult {
+        private final Object value;
+        private final long expiresAt;
+
+        private CachedResult(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
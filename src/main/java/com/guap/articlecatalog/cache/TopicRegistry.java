@@ -0,0 +1,136 @@
+package com.guap.articlecatalog.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.guap.articlecatalog.event.ArticleChangedEvent;
+import com.guap.articlecatalog.event.ArticleCountsChangedEvent;
+import com.guap.articlecatalog.repository.ArticleRepository;
+
+/**
+ * Реестр тем статей в памяти со счетчиком ссылок на каждую тему.
+ * Заменяет SELECT DISTINCT на каждой странице со списком тем.
+ */
+@Component
+public class TopicRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopicRegistry.class);
+
+    private final ArticleRepository articleRepository;
+
+    // Изменения сериализуются через synchronized, чтение идет по неизменяемому снимку
+    private final Map<String, Long> topicCounts = new TreeMap<>();
+    private volatile List<String> topics = List.of();
+
+    public TopicRegistry(ArticleRepository articleRepository) {
+        this.articleRepository = articleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuild();
+        logger.info("Реестр тем загружен: {} тем", topics.size());
+    }
+
+    // События, пришедшие во время запроса к БД, могут быть учтены дважды или потеряны;
+    // следующая пересборка это исправит
+    @Scheduled(fixedDelayString = "${app.topics.rebuild-interval-ms:300000}",
+               initialDelayString = "${app.topics.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        Map<String, Long> actual = new TreeMap<>();
+        for (Object[] row : articleRepository.countArticlesByTopic()) {
+            String topic = normalize((String) row[0]);
+            if (topic != null) {
+                actual.put(topic, ((Number) row[1]).longValue());
+            }
+        }
+        synchronized (this) {
+            topicCounts.clear();
+            topicCounts.putAll(actual);
+            publishSnapshot();
+        }
+        logger.debug("Реестр тем сверен с БД: {} тем", actual.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onArticleChanged(ArticleChangedEvent event) {
+        String oldTopic = normalize(event.getOldTopic());
+        String newTopic = normalize(event.getNewTopic());
+        if (oldTopic != null && oldTopic.equals(newTopic)) {
+            return;
+        }
+        
+        boolean changed = false;
+        if (oldTopic != null) {
+            changed |= release(oldTopic);
+        }
+        if (newTopic != null) {
+            changed |= acquire(newTopic);
+        }
+        if (changed) {
+            publishSnapshot();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onArticleCountsChanged(ArticleCountsChangedEvent event) {
+        boolean changed = false;
+        for (Map.Entry<String, Long> delta : event.getTopicDeltas().entrySet()) {
+            String topic = normalize(delta.getKey());
+            if (topic != null) {
+                changed |= adjust(topic, delta.getValue());
+            }
+        }
+        if (changed) {
+            publishSnapshot();
+        }
+    }
+
+    public List<String> getTopics() {
+        return topics;
+    }
+
+    private boolean acquire(String topic) {
+        return adjust(topic, 1L);
+    }
+
+    private boolean release(String topic) {
+        return adjust(topic, -1L);
+    }
+
+    // true, если тема появилась в списке или исчезла из него
+    private boolean adjust(String topic, long delta) {
+        Long count = topicCounts.get(topic);
+        if (count == null) {
+            if (delta <= 0) {
+                return false;
+            }
+            topicCounts.put(topic, delta);
+            return true;
+        }
+        if (count + delta <= 0) {
+            topicCounts.remove(topic);
+            return true;
+        }
+        topicCounts.put(topic, count + delta);
+        return false;
+    }
+
+    private void publishSnapshot() {
+        topics = List.copyOf(topicCounts.keySet());
+    }
+
+    private static String normalize(String topic) {
+        return topic == null || topic.isEmpty() ? null : topic;
+    }
+}
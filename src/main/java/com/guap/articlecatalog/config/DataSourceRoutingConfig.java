@@ -0,0 +1,80 @@
+package com.guap.articlecatalog.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.guap.articlecatalog.datasource.ReadWriteRoutingDataSource;
+import com.guap.articlecatalog.datasource.ReplicationLagMonitor;
+
+/**
+ * Разделение чтения и записи: readOnly-транзакции идут на реплики из app.datasource.replica.urls.
+ * Включается свойством app.datasource.routing.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+    
+    @Value("${app.datasource.replica.urls}")
+    private List<String> replicaUrls;
+    
+    @Value("${app.datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+    
+    @Value("${app.datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+    
+    @Value("${app.datasource.routing.max-replication-lag-ms:5000}")
+    private long maxReplicationLagMs;
+    
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties properties) {
+        DataSource primary = properties.initializeDataSourceBuilder().build();
+        
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.put("replica-" + (i + 1), DataSourceBuilder.create()
+                    .driverClassName(properties.getDriverClassName())
+                    .url(replicaUrls.get(i).trim())
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build());
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, Duration.ofMillis(maxReplicationLagMs));
+    }
+    
+    // Соединение берётся при первом запросе, когда признак readOnly транзакции уже выставлен
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+    
+    @Bean
+    public ReplicationLagMonitor replicationLagMonitor(ReadWriteRoutingDataSource routingDataSource) {
+        return new ReplicationLagMonitor(routingDataSource);
+    }
+    
+    // С open-in-view сессия Hibernate по умолчанию держит одно соединение весь запрос,
+    // и запись после чтения ушла бы на реплику. Соединение отпускается после каждой транзакции
+    @Bean
+    public HibernatePropertiesCustomizer routingConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,34 @@
+package com.guap.articlecatalog.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.guap.articlecatalog.logging.SamplingRule;
+import com.guap.articlecatalog.logging.SamplingTurboFilter;
+import com.guap.articlecatalog.metrics.StatementCounter;
+import com.guap.articlecatalog.tracing.ObservedThymeleafView;
+
+/**
+ * Подсказки для GraalVM Native Image (профиль Maven native): классы, которые создаются
+ * по имени из конфигурации, а не через контекст Spring, и ресурсы, читаемые не через Spring.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // hibernate.session_factory.statement_inspector
+        hints.reflection().registerType(StatementCounter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // logback-spring.xml: Joran создаёт фильтр и правила и вызывает их сеттеры
+        hints.reflection().registerType(SamplingTurboFilter.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(SamplingRule.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        // ThymeleafViewResolver создаёт представления по классу
+        hints.reflection().registerType(ObservedThymeleafView.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        
+        // Регионы кэша второго уровня (hibernate.javax.cache.uri)
+        hints.resources().registerPattern("ehcache.xml");
+        hints.resources().registerPattern("templates/**");
+    }
+}
@@ -2,7 +2,9 @@ package com.guap.articlecatalog.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -10,6 +12,12 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+
+import com.guap.articlecatalog.bulkhead.BulkheadFilter;
+import com.guap.articlecatalog.bulkhead.DiskBulkheads;
+import com.guap.articlecatalog.ratelimit.RateLimitFilter;
+import com.guap.articlecatalog.ratelimit.RateLimiter;
 
 @Configuration
 @EnableWebSecurity
@@ -26,8 +34,33 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
     
+    // JSON API и actuator: HTTP Basic вместо формы входа, без перенаправлений - 401 с WWW-Authenticate
+    // (сборщик метрик Prometheus не умеет проходить форму входа).
+    // Сессия создаётся, чтобы клиент с cookie JSESSIONID не проверял пароль (BCrypt) на каждый запрос
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, RateLimiter rateLimiter,
+                                              DiskBulkheads diskBulkheads) throws Exception {
+        http
+            .securityMatcher("/api/**", "/actuator/**")
+            .csrf(AbstractHttpConfigurer::disable)
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/actuator/health").permitAll()
+                // Метрики раскрывают адреса, запросы и нагрузку - только администраторам
+                .requestMatchers("/actuator/**").hasAuthority("ADMIN")
+                .anyRequest().authenticated()
+            )
+            .httpBasic(Customizer.withDefaults())
+            .addFilterAfter(new RateLimitFilter(rateLimiter), AuthorizationFilter.class)
+            .addFilterAfter(new BulkheadFilter(diskBulkheads), RateLimitFilter.class);
+        
+        return http.build();
+    }
+    
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @Order(2)
+    public SecurityFilterChain filterChain(HttpSecurity http, RateLimiter rateLimiter,
+                                           DiskBulkheads diskBulkheads) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
@@ -40,6 +73,7 @@ public class SecurityConfig {
                     "/uploads/**",
                     "/error"
                 ).permitAll()
+                .requestMatchers("/stats/sql").hasAuthority("ADMIN")
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
@@ -55,7 +89,9 @@ public class SecurityConfig {
                 .invalidateHttpSession(true)
                 .deleteCookies("JSESSIONID")
                 .permitAll()
-            );
+            )
+            .addFilterAfter(new RateLimitFilter(rateLimiter), AuthorizationFilter.class)
+            .addFilterAfter(new BulkheadFilter(diskBulkheads), RateLimitFilter.class);
         
         return http.build();
     }
@@ -0,0 +1,39 @@
+package com.guap.articlecatalog.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import com.guap.articlecatalog.tracing.ObservedThymeleafView;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+
+/**
+ * Наблюдения для трассировки: методы контроллеров и сервисов (@Observed), отрисовка шаблонов.
+ * HTTP-запросы, JDBC-операторы (datasource-micrometer) и файлы (StorageObservation) - отдельно;
+ * экспорт спанов включает профиль tracing.
+ */
+@Configuration
+public class TracingConfig {
+    
+    // Кроме спанов даёт таймеры: catalog.service и catalog.controller с тегами class и method
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+    
+    @Bean
+    public static BeanPostProcessor observedThymeleafViews() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof ThymeleafViewResolver resolver) {
+                    resolver.setViewClass(ObservedThymeleafView.class);
+                }
+                return bean;
+            }
+        };
+    }
+}
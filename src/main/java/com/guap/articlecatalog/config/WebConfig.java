@@ -2,19 +2,32 @@ package com.guap.articlecatalog.config;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.guap.articlecatalog.dto.ApiFields;
+import com.guap.articlecatalog.security.CurrentUserArgumentResolver;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
     @Value("${app.upload.dir:./uploads}")
     private String uploadDir;
     
+    // Проекции с фильтром полей API сериализуются целиком, если фильтр не задан явно
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer apiFieldsFilterCustomizer() {
+        return builder -> builder.filters(ApiFields.defaultFilters());
+    }
+    
     @Override
     public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
         Path uploadPath = Paths.get(uploadDir);
@@ -23,4 +36,9 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:" + uploadAbsolutePath + "/");
     }
+    
+    @Override
+    public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentUserArgumentResolver());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.guap.articlecatalog.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+
+import com.guap.articlecatalog.dto.ApiFields;
+import com.guap.articlecatalog.dto.ArticleSummary;
+import com.guap.articlecatalog.dto.CursorPage;
+import com.guap.articlecatalog.dto.SearchStreamRequest;
+import com.guap.articlecatalog.service.ArticleSearchStreamService;
+import com.guap.articlecatalog.service.ArticleService;
+
+import io.micrometer.observation.annotation.Observed;
+
+/**
+ * JSON API каталога статей. Ответы строятся из проекций ArticleSummary,
+ * поэтому сериализация не обращается к ленивым связям.
+ */
+@RestController
+@Observed(name = "catalog.controller")
+@RequestMapping("/api/v1/articles")
+public class ArticleApiController {
+    
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+    
+    private final ArticleService articleService;
+    private final ArticleSearchStreamService articleSearchStreamService;
+    
+    public ArticleApiController(ArticleService articleService, ArticleSearchStreamService articleSearchStreamService) {
+        this.articleService = articleService;
+        this.articleSearchStreamService = articleSearchStreamService;
+    }
+    
+    // Лента статей (новые сверху), следующая страница - по nextCursor из ответа
+    @GetMapping
+    public MappingJacksonValue listArticles(@RequestParam(value = "topic", required = false) String topic,
+                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                            @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                            @RequestParam(value = "fields", required = false) String fields) {
+        try {
+            CursorPage<ArticleSummary> page = articleService.scrollArticleSummaries(
+                    topic, cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            return ApiFields.select(page, fields, ApiFields.ARTICLE_FIELDS);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+    
+    // Все совпадения поиска одним ответом NDJSON, строки пишутся по мере чтения из БД.
+    // maxRows и timeBudgetMs ограничивают запрос (не выше app.search.stream.*), при остановке
+    // по бюджету последняя строка - {"truncated":true,...}
+    @GetMapping("/search")
+    public ResponseEntity<StreamingResponseBody> streamSearch(@RequestParam(value = "author", required = false) String author,
+                                                              @RequestParam(value = "topic", required = false) String topic,
+                                                              @RequestParam(value = "keyword", required = false) String keyword,
+                                                              @RequestParam(value = "maxRows", required = false) Long maxRows,
+                                                              @RequestParam(value = "timeBudgetMs", required = false) Long timeBudgetMs,
+                                                              @RequestParam(value = "fields", required = false) String fields) {
+        // Поля проверяются до начала ответа: после первой строки статус уже не изменить
+        FilterProvider filters;
+        try {
+            filters = ApiFields.filters(fields, ApiFields.ARTICLE_FIELDS);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        
+        SearchStreamRequest request = new SearchStreamRequest(author, topic, keyword, maxRows, timeBudgetMs);
+        StreamingResponseBody body = output -> articleSearchStreamService.streamSearch(request, filters, output);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+    
+    @GetMapping("/{id}")
+    public MappingJacksonValue getArticle(@PathVariable Long id,
+                                          @RequestParam(value = "fields", required = false) String fields) {
+        ArticleSummary article;
+        try {
+            article = articleService.getArticleSummary(id);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        
+        try {
+            return ApiFields.select(article, fields, ApiFields.ARTICLE_FIELDS);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.guap.articlecatalog.controller;
+
+import java.util.List;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.guap.articlecatalog.dto.ArticleFileRef;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import com.guap.articlecatalog.service.ArticleArchiveService;
+import com.guap.articlecatalog.service.UserService;
+
+import io.micrometer.observation.annotation.Observed;
+
+@RestController
+@Observed(name = "catalog.controller")
+@RequestMapping("/articles/archive")
+public class ArticleArchiveController {
+    
+    private final ArticleArchiveService articleArchiveService;
+    private final UserService userService;
+    
+    public ArticleArchiveController(ArticleArchiveService articleArchiveService, UserService userService) {
+        this.articleArchiveService = articleArchiveService;
+        this.userService = userService;
+    }
+    
+    // PDF нескольких статей одним ZIP: по списку ids, по своим статьям (mine) или по условиям поиска
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> downloadArchive(@RequestParam(value = "ids", required = false) List<Long> ids,
+                                                                 @RequestParam(value = "mine", defaultValue = "false") boolean mine,
+                                                                 @RequestParam(value = "query", required = false) String query,
+                                                                 @RequestParam(value = "author", required = false) String author,
+                                                                 @RequestParam(value = "topic", required = false) String topic,
+                                                                 @RequestParam(value = "keyword", required = false) String keyword,
+                                                                 CatalogUserPrincipal principal) {
+        List<ArticleFileRef> files;
+        try {
+            if (ids != null && !ids.isEmpty()) {
+                files = articleArchiveService.findFilesByIds(ids);
+            } else if (mine) {
+                files = articleArchiveService.findUserFiles(userService.getReference(principal.getId()), query);
+            } else {
+                files = articleArchiveService.findFilesForSearch(author, topic, keyword);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (files.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Статьи не найдены");
+        }
+        
+        StreamingResponseBody body = output -> articleArchiveService.writeArchive(files, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(mine ? "my-articles.zip" : "articles.zip").build().toString())
+                .body(body);
+    }
+}
@@ -13,7 +13,6 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -25,14 +24,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.guap.articlecatalog.dto.ArticleSummary;
 import com.guap.articlecatalog.model.Article;
 import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
 import com.guap.articlecatalog.service.ArticleService;
 import com.guap.articlecatalog.service.UserService;
 
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 
 @Controller
+@Observed(name = "catalog.controller")
 @RequestMapping("/articles")
 public class ArticleController {
     
@@ -46,24 +49,17 @@ public class ArticleController {
         this.userService = userService;
     }
     
-    private User getCurrentUser(Authentication authentication) {
-        String username = authentication.getName();
-        return userService.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Пользователь не найден: " + username));
-    }
-    
     // 2.3 Система поиска - Все статьи с поиском
     @GetMapping
     public String listArticles(@RequestParam(defaultValue = "0") int page,
                               @RequestParam(required = false) String author,
                               @RequestParam(required = false) String topic,
                               @RequestParam(required = false) String keyword,
-                              Model model,
-                              Authentication authentication) {
+                              Model model) {
         try {
             // Убрали неиспользуемую переменную currentUser
             Pageable pageable = PageRequest.of(page, 10, Sort.by("uploadDate").descending());
-            Page<Article> articlesPage = articleService.searchArticles(author, topic, keyword, pageable);
+            Page<ArticleSummary> articlesPage = articleService.searchArticleSummaries(author, topic, keyword, pageable);
             
             model.addAttribute("articles", articlesPage.getContent());
             model.addAttribute("currentPage", page);
@@ -88,22 +84,24 @@ public class ArticleController {
     @GetMapping("/my")
 public String listMyArticles(@RequestParam(defaultValue = "0") int page,
                             @RequestParam(required = false) String query,
+                            @RequestParam(required = false) Long deleted,
                             Model model,
-                            Authentication authentication) {
+                            CatalogUserPrincipal principal) {
     try {
-        // Получаем текущего пользователя
-        String username = authentication.getName();
-        User currentUser = userService.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("Пользователь не найден: " + username));
+        // Только что удалённая статья - для кнопки отмены
+        model.addAttribute("deletedArticleId", deleted);
+        
+        // Ссылка на текущего пользователя без запроса к БД
+        User currentUser = userService.getReference(principal.getId());
         
         Pageable pageable = PageRequest.of(page, 10, Sort.by("uploadDate").descending());
-        Page<Article> articlesPage;
+        Page<ArticleSummary> articlesPage;
         
         if (query != null && !query.trim().isEmpty()) {
-            articlesPage = articleService.searchUserArticles(currentUser, query, pageable);
+            articlesPage = articleService.searchUserArticleSummaries(currentUser, query, pageable);
             model.addAttribute("searchQuery", query);
         } else {
-            articlesPage = articleService.getUserArticles(currentUser, pageable);
+            articlesPage = articleService.getUserArticleSummaries(currentUser, pageable);
         }
         
         model.addAttribute("articles", articlesPage.getContent());
@@ -147,14 +145,14 @@ public String listMyArticles(@RequestParam(defaultValue = "0") int page,
                             @RequestParam(value = "keywords", required = false) String keywords,
                             @RequestParam(value = "topic", required = false) String topic,
                             Model model,
-                            Authentication authentication) {
+                            CatalogUserPrincipal principal) {
         
         try {
-            logger.debug("=== DEBUG: Starting article addition ===");
-            logger.debug("Title: {}", title);
-            logger.debug("Authors: {}", authors);
-            logger.debug("PDF File: {}", pdfFile.getOriginalFilename());
-            logger.debug("PDF Size: {}", pdfFile.getSize());
+            // Проверка уровня до вызова: аргументы (упаковка размера, массив параметров) не создаются зря
+            if (logger.isDebugEnabled()) {
+                logger.debug("Добавление статьи \"{}\" ({}): файл {}, {} байт",
+                        title, authors, pdfFile.getOriginalFilename(), pdfFile.getSize());
+            }
             
             // Базовые проверки
             if (pdfFile.isEmpty()) {
@@ -192,19 +190,13 @@ public String listMyArticles(@RequestParam(defaultValue = "0") int page,
                 article.setTopic(topic.trim());
             }
             
-            logger.debug("=== DEBUG: Article object created ===");
-            
             // Получаем текущего пользователя
-            String username = authentication.getName();
-            User currentUser = userService.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("Пользователь не найден: " + username));
-            
-            logger.debug("=== DEBUG: User found: {} ===", currentUser.getUsername());
+            User currentUser = userService.getReference(principal.getId());
             
             // Сохраняем статью
             Article savedArticle = articleService.saveArticle(article, currentUser, pdfFile);
             
-            logger.debug("=== DEBUG: Article saved with ID: {} ===", savedArticle.getId());
+            logger.debug("Статья добавлена, ID: {}", savedArticle.getId());
             
             return "redirect:/articles/my?success";
             
@@ -219,13 +211,12 @@ public String listMyArticles(@RequestParam(defaultValue = "0") int page,
     }
     // 3.4 Просмотр статьи
     @GetMapping("/view/{id}")
-    public String viewArticle(@PathVariable Long id, Model model, Authentication authentication) {
+    public String viewArticle(@PathVariable Long id, Model model, CatalogUserPrincipal principal) {
         try {
             Article article = articleService.getArticleById(id);
-            User currentUser = getCurrentUser(authentication);
             
             model.addAttribute("article", article);
-            model.addAttribute("isOwner", article.getUser().getId().equals(currentUser.getId()));
+            model.addAttribute("isOwner", article.getUser().getId().equals(principal.getId()));
             
             return "articles/view";
         } catch (Exception e) {
@@ -237,13 +228,12 @@ public String listMyArticles(@RequestParam(defaultValue = "0") int page,
     
     // 3.4 Редактирование статьи - Форма
     @GetMapping("/edit/{id}")
-    public String showEditArticleForm(@PathVariable Long id, Model model, Authentication authentication) {
+    public String showEditArticleForm(@PathVariable Long id, Model model, CatalogUserPrincipal principal) {
         try {
             Article article = articleService.getArticleById(id);
-            User currentUser = getCurrentUser(authentication);
             
             // Проверка прав доступа
-            if (!article.getUser().getId().equals(currentUser.getId())) {
+            if (!article.getUser().getId().equals(principal.getId())) {
                 model.addAttribute("errorMessage", "У вас нет прав для редактирования этой статьи");
                 return "redirect:/articles/my";
             }
@@ -268,7 +258,7 @@ public String listMyArticles(@RequestParam(defaultValue = "0") int page,
                                BindingResult bindingResult,
                                @RequestParam(value = "pdfFile", required = false) MultipartFile pdfFile,
                                Model model,
-                               Authentication authentication) {
+                               CatalogUserPrincipal principal) {
         try {
             if (bindingResult.hasErrors()) {
                 List<String> topics = articleService.getAllTopics();
@@ -277,11 +267,10 @@ public String listMyArticles(@RequestParam(defaultValue = "0") int page,
                 return "articles/edit";
             }
             
-            User currentUser = getCurrentUser(authentication);
             Article updatedArticle = articleService.updateArticle(id, articleDetails, pdfFile);
             
             logger.info("Статья обновлена: {} (ID: {}) пользователем {}", 
-                       updatedArticle.getTitle(), id, currentUser.getUsername());
+                       updatedArticle.getTitle(), id, principal.getUsername());
             
             return "redirect:/articles/my?success";
         } catch (IllegalArgumentException e) {
@@ -300,14 +289,15 @@ public String listMyArticles(@RequestParam(defaultValue = "0") int page,
     
     // 2.2 Удаление статьи
     @PostMapping("/delete/{id}")
-    public String deleteArticle(@PathVariable Long id, Authentication authentication) {
+    public String deleteArticle(@PathVariable Long id, CatalogUserPrincipal principal) {
         try {
-            User currentUser = getCurrentUser(authentication);
+            User currentUser = userService.getReference(principal.getId());
             articleService.deleteArticle(id, currentUser);
             
-            logger.info("Статья удалена (ID: {}) пользователем {}", id, currentUser.getUsername());
+            logger.info("Статья удалена (ID: {}) пользователем {}", id, principal.getUsername());
             
-            return "redirect:/articles/my?deleted";
+            // id нужен странице для кнопки отмены удаления
+            return "redirect:/articles/my?deleted=" + id;
         } catch (IllegalArgumentException e) {
             logger.error("Ошибка при удалении статьи: {}", e.getMessage());
             return "redirect:/articles/my?error=" + e.getMessage();
@@ -317,6 +307,18 @@ public String listMyArticles(@RequestParam(defaultValue = "0") int page,
         }
     }
     
+    // Отмена удаления в пределах окна отмены
+    @PostMapping("/restore/{id}")
+    public String restoreArticle(@PathVariable Long id, CatalogUserPrincipal principal) {
+        try {
+            articleService.restoreArticle(id, userService.getReference(principal.getId()));
+            return "redirect:/articles/my?restored";
+        } catch (IllegalArgumentException e) {
+            logger.error("Ошибка при восстановлении статьи: {}", e.getMessage());
+            return "redirect:/articles/my?error=" + e.getMessage();
+        }
+    }
+    
     // 3.4 Скачивание PDF
     @GetMapping("/download/{id}")
     public ResponseEntity<Resource> downloadPdf(@PathVariable Long id) {
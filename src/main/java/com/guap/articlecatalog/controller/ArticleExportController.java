@@ -0,0 +1,48 @@
+package com.guap.articlecatalog.controller;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.guap.articlecatalog.export.ExportFormat;
+import com.guap.articlecatalog.service.ArticleExportService;
+
+import io.micrometer.observation.annotation.Observed;
+
+@RestController
+@Observed(name = "catalog.controller")
+@RequestMapping("/articles/export")
+public class ArticleExportController {
+    
+    private final ArticleExportService articleExportService;
+    
+    public ArticleExportController(ArticleExportService articleExportService) {
+        this.articleExportService = articleExportService;
+    }
+    
+    // Выгрузка всего каталога. Тело пишется потоком, без сборки файла в памяти
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportCatalog(@RequestParam(value = "format", required = false) String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        
+        StreamingResponseBody body = output -> articleExportService.exportCatalog(exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("catalog." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,95 @@
+package com.guap.articlecatalog.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.guap.articlecatalog.importer.ImportJob;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import com.guap.articlecatalog.service.ArticleImportService;
+import com.guap.articlecatalog.service.UserService;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@Observed(name = "catalog.controller")
+@RequestMapping("/articles/import")
+public class ArticleImportController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ArticleImportController.class);
+    
+    private final ArticleImportService articleImportService;
+    private final UserService userService;
+    
+    public ArticleImportController(ArticleImportService articleImportService, UserService userService) {
+        this.articleImportService = articleImportService;
+        this.userService = userService;
+    }
+    
+    // Шаг 1: манифест (CSV или JSON) - небольшой multipart-файл в пределах обычного лимита
+    @PostMapping("/manifest")
+    public ResponseEntity<?> stageManifest(@RequestParam("manifest") MultipartFile manifest,
+                                           CatalogUserPrincipal principal) {
+        if (manifest.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Загрузите манифест"));
+        }
+        
+        try (InputStream manifestStream = manifest.getInputStream()) {
+            String manifestId = articleImportService.stageManifest(userService.getReference(principal.getId()),
+                    manifestStream, manifest.getOriginalFilename());
+            return ResponseEntity.ok(Map.of("manifestId", manifestId));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Некорректный манифест: " + e.getMessage()));
+        }
+    }
+    
+    // Шаг 2: ZIP-архив PDF телом запроса (application/zip) - читается потоком, без записи во временный файл.
+    // Повтор с тем же jobId продолжает импорт
+    @PostMapping(consumes = {"application/zip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> importArchive(@RequestParam("manifestId") String manifestId,
+                                           @RequestParam(value = "jobId", required = false) String jobId,
+                                           HttpServletRequest request,
+                                           CatalogUserPrincipal principal) {
+        if (request.getContentLengthLong() > articleImportService.getMaxArchiveSize()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("error", "Архив больше допустимого размера"));
+        }
+        
+        try (InputStream archiveStream = request.getInputStream()) {
+            ImportJob job = articleImportService.importArchive(userService.getReference(principal.getId()),
+                    archiveStream, manifestId, jobId);
+            return ResponseEntity.ok(job);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            logger.error("Ошибка при чтении архива импорта", e);
+            return ResponseEntity.badRequest().body(Map.of("error", "Не удалось прочитать архив"));
+        }
+    }
+    
+    // Прогресс импорта по файлам
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJob> getJob(@PathVariable String jobId, CatalogUserPrincipal principal) {
+        return articleImportService.getJob(jobId)
+                .filter(job -> job.getUserId().equals(principal.getId()))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -13,9 +13,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import com.guap.articlecatalog.model.User;
 import com.guap.articlecatalog.service.UserService;
 
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 
 @Controller
+@Observed(name = "catalog.controller")
 public class AuthController {
     
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
@@ -6,7 +6,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 
 import com.guap.articlecatalog.service.ArticleService;
 
+import io.micrometer.observation.annotation.Observed;
+
 @Controller
+@Observed(name = "catalog.controller")
 public class HomeController {
     
     private final ArticleService articleService;
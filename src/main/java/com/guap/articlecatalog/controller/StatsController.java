@@ -0,0 +1,57 @@
+package com.guap.articlecatalog.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.guap.articlecatalog.stats.CacheStatistics;
+import com.guap.articlecatalog.stats.CatalogStatistics;
+import com.guap.articlecatalog.stats.SqlStatementStatistics;
+
+import io.micrometer.observation.annotation.Observed;
+
+@RestController
+@Observed(name = "catalog.controller")
+public class StatsController {
+    
+    private final CatalogStatistics catalogStatistics;
+    private final CacheStatistics cacheStatistics;
+    private final SqlStatementStatistics sqlStatementStatistics;
+    
+    public StatsController(CatalogStatistics catalogStatistics, CacheStatistics cacheStatistics,
+                           SqlStatementStatistics sqlStatementStatistics) {
+        this.catalogStatistics = catalogStatistics;
+        this.cacheStatistics = cacheStatistics;
+        this.sqlStatementStatistics = sqlStatementStatistics;
+    }
+    
+    // Сводная статистика каталога (из счетчиков в памяти, без запросов к БД)
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalArticles", catalogStatistics.getTotalArticles());
+        stats.put("activeUsers", catalogStatistics.getActiveUsersCount());
+        stats.put("articlesByTopic", catalogStatistics.getArticlesByTopic());
+        return stats;
+    }
+    
+    // Эффективность кэша второго уровня Hibernate
+    @GetMapping("/stats/cache")
+    public Map<String, Object> cacheStats() {
+        return cacheStatistics.snapshot();
+    }
+    
+    // Маршруты с лишними SQL-операторами и подозрением на N+1 (только для администраторов)
+    @GetMapping("/stats/sql")
+    public Map<String, Object> sqlStats() {
+        return sqlStatementStatistics.snapshot();
+    }
+    
+    @DeleteMapping("/stats/sql")
+    public void resetSqlStats() {
+        sqlStatementStatistics.reset();
+    }
+}
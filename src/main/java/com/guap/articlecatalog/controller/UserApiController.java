@@ -0,0 +1,64 @@
+package com.guap.articlecatalog.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.guap.articlecatalog.dto.ApiFields;
+import com.guap.articlecatalog.dto.CursorPage;
+import com.guap.articlecatalog.dto.UserSummary;
+import com.guap.articlecatalog.service.UserService;
+
+import io.micrometer.observation.annotation.Observed;
+
+/**
+ * JSON API пользователей: поиск и профили в виде проекций UserSummary.
+ */
+@RestController
+@Observed(name = "catalog.controller")
+@RequestMapping("/api/v1/users")
+public class UserApiController {
+    
+    private final UserService userService;
+    
+    public UserApiController(UserService userService) {
+        this.userService = userService;
+    }
+    
+    // Поиск по логину, ФИО или email; без query - все пользователи по порядку id
+    @GetMapping
+    public MappingJacksonValue listUsers(@RequestParam(value = "query", required = false) String query,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "size", defaultValue = "" + ArticleApiController.DEFAULT_PAGE_SIZE) int size,
+                                         @RequestParam(value = "fields", required = false) String fields) {
+        try {
+            CursorPage<UserSummary> page = userService.scrollUserSummaries(
+                    query, cursor, Math.max(1, Math.min(size, ArticleApiController.MAX_PAGE_SIZE)));
+            return ApiFields.select(page, fields, ApiFields.USER_FIELDS);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+    
+    @GetMapping("/{id}")
+    public MappingJacksonValue getUser(@PathVariable Long id,
+                                       @RequestParam(value = "fields", required = false) String fields) {
+        UserSummary user;
+        try {
+            user = userService.getUserSummary(id);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        
+        try {
+            return ApiFields.select(user, fields, ApiFields.USER_FIELDS);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -5,7 +5,6 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,30 +15,33 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import com.guap.articlecatalog.security.PrincipalRefresher;
 import com.guap.articlecatalog.service.UserService;
 
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @Controller
+@Observed(name = "catalog.controller")
 @RequestMapping("/user")
 public class UserController {
     
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     
     private final UserService userService;
+    private final PrincipalRefresher principalRefresher;
     
-    public UserController(UserService userService) {
+    public UserController(UserService userService, PrincipalRefresher principalRefresher) {
         this.userService = userService;
-    }
-    
-    private User getCurrentUser(Authentication authentication) {
-        String username = authentication.getName();
-        return userService.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Пользователь не найден: " + username));
+        this.principalRefresher = principalRefresher;
     }
     
     // 2.4 Публичные профили пользователей - Мой профиль
     @GetMapping("/profile")
-    public String showProfile(Model model, Authentication authentication) {
-        User currentUser = getCurrentUser(authentication);
+    public String showProfile(Model model, CatalogUserPrincipal principal) {
+        User currentUser = userService.findById(principal.getId());
         model.addAttribute("user", currentUser);
         
         // Форматируем дату регистрации (только дата без времени)
@@ -57,12 +59,12 @@ public class UserController {
     public String updateProfile(@RequestParam(value = "fullName", required = false) String fullName,
                             @RequestParam(value = "email", required = false) String email,
                             Model model,
-                            Authentication authentication) {
+                            CatalogUserPrincipal principal,
+                            HttpServletRequest request,
+                            HttpServletResponse response) {
         try {
             logger.debug("Обновление профиля: fullName={}, email={}", fullName, email);
             
-            User currentUser = getCurrentUser(authentication);
-            
             // Создаем объект с обновленными данными
             User userDetails = new User();
             if (fullName != null && !fullName.trim().isEmpty()) {
@@ -74,7 +76,8 @@ public class UserController {
             }
             
             // Обновляем профиль
-            User updatedUser = userService.updateUserProfile(currentUser.getId(), userDetails);
+            User updatedUser = userService.updateUserProfile(principal.getId(), userDetails);
+            principalRefresher.refresh(updatedUser, request, response);
             
             model.addAttribute("user", updatedUser);
             model.addAttribute("successMessage", "Профиль успешно обновлен");
@@ -86,7 +89,7 @@ public class UserController {
                 model.addAttribute("formattedRegistrationDate", formattedDate);
             }
             
-            logger.info("Профиль пользователя {} обновлен", currentUser.getUsername());
+            logger.info("Профиль пользователя {} обновлен", principal.getUsername());
             
             return "profile";
             
@@ -105,10 +108,13 @@ public class UserController {
     @PostMapping("/profile/upload-avatar")
     public String uploadAvatar(@RequestParam("avatarFile") MultipartFile avatarFile,
                               Model model,
-                              Authentication authentication) {
+                              CatalogUserPrincipal principal,
+                              HttpServletRequest request,
+                              HttpServletResponse response) {
         try {
-            User currentUser = getCurrentUser(authentication);
-            userService.uploadAvatar(currentUser.getId(), avatarFile);
+            userService.uploadAvatar(principal.getId(), avatarFile);
+            User currentUser = userService.findById(principal.getId());
+            principalRefresher.refresh(currentUser, request, response);
             
             model.addAttribute("successMessage", "Аватар успешно загружен");
             model.addAttribute("user", currentUser);
@@ -152,13 +158,12 @@ public class UserController {
     
     // 2.4 Публичные профили пользователей - Просмотр профиля другого пользователя
     @GetMapping("/{id}")
-    public String viewUserProfile(@PathVariable Long id, Model model, Authentication authentication) {
+    public String viewUserProfile(@PathVariable Long id, Model model, CatalogUserPrincipal principal) {
         try {
             User user = userService.findById(id);
-            User currentUser = getCurrentUser(authentication);
             
             model.addAttribute("viewedUser", user);
-            model.addAttribute("isOwnProfile", user.getId().equals(currentUser.getId()));
+            model.addAttribute("isOwnProfile", user.getId().equals(principal.getId()));
             
             // Форматируем дату регистрации
             if (user.getRegistrationDate() != null) {
@@ -0,0 +1,131 @@
+package com.guap.articlecatalog.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Читающие транзакции (readOnly = true) уходят на реплики по кругу, всё остальное - на основную БД.
+ * Реплика, отставшая больше допустимого или не отвечающая, исключается до следующей проверки.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    
+    static final String PRIMARY = "primary";
+    
+    private static final String UPDATE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_time = ? WHERE id = 1";
+    private static final String SELECT_HEARTBEAT = "SELECT beat_time FROM replication_heartbeat WHERE id = 1";
+    
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Duration maxReplicationLag;
+    private final Set<String> availableReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxReplicationLag) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.maxReplicationLag = maxReplicationLag;
+        
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicaKeys.isEmpty()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size());
+        for (int i = 0; i < replicaKeys.size(); i++) {
+            String key = replicaKeys.get((start + i) % replicaKeys.size());
+            if (availableReplicas.contains(key)) {
+                return key;
+            }
+        }
+        // Все реплики отстали - читаем с основной БД
+        return PRIMARY;
+    }
+    
+    // Пишет отметку времени на основную БД и сравнивает с тем, что уже доехало до каждой реплики
+    public void checkReplicationLag() {
+        Instant beat = Instant.now();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPDATE_HEARTBEAT)) {
+            statement.setTimestamp(1, Timestamp.from(beat));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            logger.warn("Не удалось записать heartbeat репликации: {}", e.getMessage());
+            return;
+        }
+        
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            String key = replica.getKey();
+            boolean available = false;
+            try (Connection connection = replica.getValue().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(SELECT_HEARTBEAT);
+                 ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next() && resultSet.getTimestamp(1) != null) {
+                    Duration lag = Duration.between(resultSet.getTimestamp(1).toInstant(), beat);
+                    available = lag.compareTo(maxReplicationLag) <= 0;
+                    if (!available) {
+                        logger.warn("Реплика {} отстаёт на {} мс, чтение переключено на основную БД", key, lag.toMillis());
+                    }
+                }
+            } catch (SQLException e) {
+                logger.warn("Реплика {} недоступна: {}", key, e.getMessage());
+            }
+            
+            if (available) {
+                availableReplicas.add(key);
+            } else {
+                availableReplicas.remove(key);
+            }
+        }
+    }
+    
+    public List<String> getAvailableReplicas() {
+        List<String> available = new ArrayList<>(replicaKeys);
+        available.retainAll(availableReplicas);
+        return available;
+    }
+    
+    public void close() {
+        closeQuietly(primary);
+        replicas.values().forEach(ReadWriteRoutingDataSource::closeQuietly);
+    }
+    
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Ошибка при закрытии пула соединений", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.guap.articlecatalog.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+public class ReplicationLagMonitor {
+    
+    private final ReadWriteRoutingDataSource routingDataSource;
+    
+    public ReplicationLagMonitor(ReadWriteRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.datasource.routing.heartbeat-interval-ms:1000}")
+    public void check() {
+        routingDataSource.checkReplicationLag();
+    }
+}
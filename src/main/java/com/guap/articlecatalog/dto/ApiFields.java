@@ -0,0 +1,63 @@
+package com.guap.articlecatalog.dto;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Выбор полей ответа API параметром fields=id,title,...: фильтр Jackson
+ * пропускает остальные свойства проекций, ничего не вычисляя и не загружая.
+ */
+public final class ApiFields {
+    
+    public static final String FILTER_ID = "apiFields";
+    
+    public static final Set<String> ARTICLE_FIELDS = Set.of(
+            "id", "title", "authors", "publicationYear", "keywords", "topic", "uploadDate", "userId", "username");
+    
+    public static final Set<String> USER_FIELDS = Set.of(
+            "id", "username", "fullName", "email", "avatarPath", "registrationDate");
+    
+    private ApiFields() {
+    }
+    
+    // Без fields сериализуются все поля - так проекции выводятся и вне API
+    public static FilterProvider defaultFilters() {
+        return new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                .setFailOnUnknownId(false);
+    }
+    
+    public static MappingJacksonValue select(Object body, String fields, Set<String> allowed) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters(fields, allowed));
+        return value;
+    }
+    
+    public static FilterProvider filters(String fields, Set<String> allowed) {
+        if (!StringUtils.hasText(fields)) {
+            return defaultFilters();
+        }
+        
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String field : requested) {
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("Неизвестное поле: " + field);
+            }
+        }
+        
+        return new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(requested));
+    }
+}
@@ -0,0 +1,20 @@
+package com.guap.articlecatalog.dto;
+
+/**
+ * Файл статьи для пакетного скачивания: только то, что нужно для записи в архив.
+ */
+public class ArticleFileRef {
+    private final Long id;
+    private final String pdfFileName;
+    private final String pdfFilePath;
+    
+    public ArticleFileRef(Long id, String pdfFileName, String pdfFilePath) {
+        this.id = id;
+        this.pdfFileName = pdfFileName;
+        this.pdfFilePath = pdfFilePath;
+    }
+    
+    public Long getId() { return id; }
+    public String getPdfFileName() { return pdfFileName; }
+    public String getPdfFilePath() { return pdfFilePath; }
+}
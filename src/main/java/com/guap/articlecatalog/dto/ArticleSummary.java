@@ -0,0 +1,47 @@
+package com.guap.articlecatalog.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Проекция статьи для карточек в списках: только отображаемые поля и имя загрузившего.
+ * Заполняется одним запросом с JOIN, без ленивой загрузки пользователя.
+ */
+@JsonFilter(ApiFields.FILTER_ID)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleSummary {
+    private final Long id;
+    private final String title;
+    private final String authors;
+    private final Integer publicationYear;
+    private final String keywords;
+    private final String topic;
+    private final LocalDateTime uploadDate;
+    private final Long userId;
+    private final String username;
+    
+    public ArticleSummary(Long id, String title, String authors, Integer publicationYear, String keywords,
+                          String topic, LocalDateTime uploadDate, Long userId, String username) {
+        this.id = id;
+        this.title = title;
+        this.authors = authors;
+        this.publicationYear = publicationYear;
+        this.keywords = keywords;
+        this.topic = topic;
+        this.uploadDate = uploadDate;
+        this.userId = userId;
+        this.username = username;
+    }
+    
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getAuthors() { return authors; }
+    public Integer getPublicationYear() { return publicationYear; }
+    public String getKeywords() { return keywords; }
+    public String getTopic() { return topic; }
+    public LocalDateTime getUploadDate() { return uploadDate; }
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+}
@@ -0,0 +1,54 @@
+package com.guap.articlecatalog.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в ленте для постраничного вывода по ключу (keyset): последняя отданная строка.
+ * Следующая страница начинается сразу после неё, без OFFSET и пересчёта пропущенных строк.
+ * Клиенту передаётся как непрозрачная строка.
+ */
+public class KeysetCursor {
+    
+    private final LocalDateTime uploadDate;
+    private final Long id;
+    
+    private KeysetCursor(LocalDateTime uploadDate, Long id) {
+        this.uploadDate = uploadDate;
+        this.id = id;
+    }
+    
+    // Лента статей: новые сверху, при равной дате - по убыванию id
+    public static KeysetCursor after(ArticleSummary last) {
+        return new KeysetCursor(last.getUploadDate(), last.getId());
+    }
+    
+    // Список пользователей: по возрастанию id
+    public static KeysetCursor after(UserSummary last) {
+        return new KeysetCursor(null, last.getId());
+    }
+    
+    public static KeysetCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                return new KeysetCursor(null, Long.valueOf(decoded));
+            }
+            return new KeysetCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Некорректный курсор: " + value);
+        }
+    }
+    
+    public String encode() {
+        String raw = uploadDate != null ? uploadDate + "|" + id : String.valueOf(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime getUploadDate() { return uploadDate; }
+    public Long getId() { return id; }
+}
@@ -0,0 +1,27 @@
+package com.guap.articlecatalog.dto;
+
+/**
+ * Параметры потокового поиска: условия как у обычного поиска и бюджет запроса.
+ * Пустой бюджет (null) означает предел из настроек app.search.stream.*.
+ */
+public class SearchStreamRequest {
+    private final String author;
+    private final String topic;
+    private final String keyword;
+    private final Long maxRows;
+    private final Long timeBudgetMs;
+    
+    public SearchStreamRequest(String author, String topic, String keyword, Long maxRows, Long timeBudgetMs) {
+        this.author = author;
+        this.topic = topic;
+        this.keyword = keyword;
+        this.maxRows = maxRows;
+        this.timeBudgetMs = timeBudgetMs;
+    }
+    
+    public String getAuthor() { return author; }
+    public String getTopic() { return topic; }
+    public String getKeyword() { return keyword; }
+    public Long getMaxRows() { return maxRows; }
+    public Long getTimeBudgetMs() { return timeBudgetMs; }
+}
@@ -0,0 +1,37 @@
+package com.guap.articlecatalog.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Проекция пользователя для списков и API: публичные поля профиля без ролей и пароля.
+ */
+@JsonFilter(ApiFields.FILTER_ID)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserSummary {
+    private final Long id;
+    private final String username;
+    private final String fullName;
+    private final String email;
+    private final String avatarPath;
+    private final LocalDateTime registrationDate;
+    
+    public UserSummary(Long id, String username, String fullName, String email,
+                       String avatarPath, LocalDateTime registrationDate) {
+        this.id = id;
+        this.username = username;
+        this.fullName = fullName;
+        this.email = email;
+        this.avatarPath = avatarPath;
+        this.registrationDate = registrationDate;
+    }
+    
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public String getFullName() { return fullName; }
+    public String getEmail() { return email; }
+    public String getAvatarPath() { return avatarPath; }
+    public LocalDateTime getRegistrationDate() { return registrationDate; }
+}
@@ -0,0 +1,48 @@
+package com.guap.articlecatalog.event;
+
+import com.guap.articlecatalog.model.Article;
+
+/**
+ * Событие жизненного цикла статьи. Публикуется сервисом внутри транзакции,
+ * слушатели получают его только после коммита.
+ */
+public class ArticleChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long articleId;
+    private final Long userId;
+    private final String oldTopic;
+    private final String newTopic;
+
+    public ArticleChangedEvent(Type type, Long articleId, Long userId, String oldTopic, String newTopic) {
+        this.type = type;
+        this.articleId = articleId;
+        this.userId = userId;
+        this.oldTopic = oldTopic;
+        this.newTopic = newTopic;
+    }
+
+    public static ArticleChangedEvent created(Article article) {
+        return new ArticleChangedEvent(Type.CREATED, article.getId(), userIdOf(article), null, article.getTopic());
+    }
+
+    public static ArticleChangedEvent updated(Article article, String oldTopic) {
+        return new ArticleChangedEvent(Type.UPDATED, article.getId(), userIdOf(article), oldTopic, article.getTopic());
+    }
+
+    public static ArticleChangedEvent deleted(Article article) {
+        return new ArticleChangedEvent(Type.DELETED, article.getId(), userIdOf(article), article.getTopic(), null);
+    }
+
+    private static Long userIdOf(Article article) {
+        return article.getUser() != null ? article.getUser().getId() : null;
+    }
+
+    public Type getType() { return type; }
+    public Long getArticleId() { return articleId; }
+    public Long getUserId() { return userId; }
+    public String getOldTopic() { return oldTopic; }
+    public String getNewTopic() { return newTopic; }
+}
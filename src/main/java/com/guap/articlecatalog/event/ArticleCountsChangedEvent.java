@@ -0,0 +1,57 @@
+package com.guap.articlecatalog.event;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.guap.articlecatalog.model.Article;
+
+/**
+ * Сводное изменение числа статей при пакетной операции: общее и по пользователям и темам.
+ * Заменяет ArticleChangedEvent на каждую строку, чтобы до коммита не копились
+ * синхронизации транзакции в количестве, пропорциональном числу статей.
+ */
+public class ArticleCountsChangedEvent {
+
+    private final long totalDelta;
+    private final Map<Long, Long> userDeltas;
+    private final Map<String, Long> topicDeltas;
+
+    public ArticleCountsChangedEvent(long totalDelta, Map<Long, Long> userDeltas, Map<String, Long> topicDeltas) {
+        this.totalDelta = totalDelta;
+        this.userDeltas = Map.copyOf(userDeltas);
+        this.topicDeltas = Map.copyOf(topicDeltas);
+    }
+
+    public long getTotalDelta() { return totalDelta; }
+    public Map<Long, Long> getUserDeltas() { return userDeltas; }
+    public Map<String, Long> getTopicDeltas() { return topicDeltas; }
+
+    /**
+     * Накопитель: память растёт с числом разных пользователей и тем, а не статей.
+     */
+    public static class Builder {
+
+        private long totalDelta;
+        private final Map<Long, Long> userDeltas = new HashMap<>();
+        private final Map<String, Long> topicDeltas = new HashMap<>();
+
+        public Builder created(Article article) {
+            totalDelta++;
+            if (article.getUser() != null && article.getUser().getId() != null) {
+                userDeltas.merge(article.getUser().getId(), 1L, Long::sum);
+            }
+            if (article.getTopic() != null && !article.getTopic().isEmpty()) {
+                topicDeltas.merge(article.getTopic(), 1L, Long::sum);
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return totalDelta == 0;
+        }
+
+        public ArticleCountsChangedEvent build() {
+            return new ArticleCountsChangedEvent(totalDelta, userDeltas, topicDeltas);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.guap.articlecatalog.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.guap.articlecatalog.model.Article;
+
+/**
+ * Построчная запись статей в поток выгрузки. Реализации не накапливают данные:
+ * каждая статья сразу уходит в Writer.
+ */
+public interface ArticleExportWriter {
+    
+    void begin(Writer writer) throws IOException;
+    
+    void write(Article article, Writer writer) throws IOException;
+    
+    void end(Writer writer) throws IOException;
+    
+    static ArticleExportWriter forFormat(ExportFormat format) {
+        return switch (format) {
+            case CSV -> new CsvArticleWriter();
+            case NDJSON -> new NdjsonArticleWriter();
+            case BIBTEX -> new BibtexArticleWriter();
+        };
+    }
+}
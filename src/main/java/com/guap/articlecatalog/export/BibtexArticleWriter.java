@@ -0,0 +1,66 @@
+package com.guap.articlecatalog.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.guap.articlecatalog.model.Article;
+
+class BibtexArticleWriter implements ArticleExportWriter {
+    
+    @Override
+    public void begin(Writer writer) {
+    }
+    
+    @Override
+    public void write(Article article, Writer writer) throws IOException {
+        writer.write("@article{catalog");
+        writer.write(String.valueOf(article.getId()));
+        writer.write(",\n");
+        writeField(writer, "title", article.getTitle());
+        writeField(writer, "author", toBibtexAuthors(article.getAuthors()));
+        if (article.getPublicationYear() != null) {
+            writeField(writer, "year", article.getPublicationYear().toString());
+        }
+        writeField(writer, "keywords", article.getKeywords());
+        writeField(writer, "topic", article.getTopic());
+        writeField(writer, "file", article.getPdfFileName());
+        writer.write("}\n\n");
+    }
+    
+    @Override
+    public void end(Writer writer) {
+    }
+    
+    private static void writeField(Writer writer, String name, String value) throws IOException {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        writer.write("  ");
+        writer.write(name);
+        writer.write(" = {");
+        writer.write(escape(value));
+        writer.write("},\n");
+    }
+    
+    // Авторы хранятся через запятую или точку с запятой, в BibTeX разделитель - and
+    static String toBibtexAuthors(String authors) {
+        if (authors == null) {
+            return null;
+        }
+        return String.join(" and ", authors.trim().split("\\s*[;,]\\s*"));
+    }
+    
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '{', '}', '&', '%', '$', '#', '_' -> escaped.append('\\').append(c);
+                case '\\' -> escaped.append("\\textbackslash{}");
+                case '\n', '\r' -> escaped.append(' ');
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
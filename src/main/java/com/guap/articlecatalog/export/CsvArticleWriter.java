@@ -0,0 +1,52 @@
+package com.guap.articlecatalog.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.guap.articlecatalog.model.Article;
+
+class CsvArticleWriter implements ArticleExportWriter {
+    
+    private static final String HEADER =
+            "id,title,authors,publicationYear,keywords,topic,pdfFileName,fileSize,uploadDate,uploadedBy\r\n";
+    
+    @Override
+    public void begin(Writer writer) throws IOException {
+        writer.write(HEADER);
+    }
+    
+    @Override
+    public void write(Article article, Writer writer) throws IOException {
+        writer.write(String.valueOf(article.getId()));
+        writeField(writer, article.getTitle());
+        writeField(writer, article.getAuthors());
+        writeField(writer, article.getPublicationYear());
+        writeField(writer, article.getKeywords());
+        writeField(writer, article.getTopic());
+        writeField(writer, article.getPdfFileName());
+        writeField(writer, article.getFileSize());
+        writeField(writer, article.getUploadDate());
+        writeField(writer, article.getUser().getUsername());
+        writer.write("\r\n");
+    }
+    
+    @Override
+    public void end(Writer writer) {
+    }
+    
+    // RFC 4180: поля с запятыми, кавычками и переводами строк берутся в кавычки
+    private static void writeField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
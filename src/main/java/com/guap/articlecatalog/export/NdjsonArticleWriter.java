@@ -0,0 +1,58 @@
+package com.guap.articlecatalog.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.guap.articlecatalog.model.Article;
+
+class NdjsonArticleWriter implements ArticleExportWriter {
+    
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    
+    private JsonGenerator generator;
+    
+    @Override
+    public void begin(Writer writer) throws IOException {
+        generator = jsonFactory.createGenerator(writer);
+        // Каждый объект верхнего уровня - отдельная строка
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+    
+    @Override
+    public void write(Article article, Writer writer) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", article.getId());
+        generator.writeStringField("title", article.getTitle());
+        generator.writeStringField("authors", article.getAuthors());
+        if (article.getPublicationYear() != null) {
+            generator.writeNumberField("publicationYear", article.getPublicationYear());
+        }
+        writeOptional("keywords", article.getKeywords());
+        writeOptional("topic", article.getTopic());
+        writeOptional("pdfFileName", article.getPdfFileName());
+        if (article.getFileSize() != null) {
+            generator.writeNumberField("fileSize", article.getFileSize());
+        }
+        if (article.getUploadDate() != null) {
+            generator.writeStringField("uploadDate", article.getUploadDate().toString());
+        }
+        generator.writeStringField("uploadedBy", article.getUser().getUsername());
+        generator.writeEndObject();
+    }
+    
+    @Override
+    public void end(Writer writer) throws IOException {
+        generator.writeRaw('\n');
+        generator.close();
+    }
+    
+    private void writeOptional(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.guap.articlecatalog.importer;
+
+/**
+ * Результат обработки одного файла архива.
+ */
+public class ImportEntryResult {
+    
+    public enum Status { IMPORTED, SKIPPED, FAILED }
+    
+    private final String name;
+    private volatile Status status;
+    private volatile String message;
+    private volatile Long articleId;
+    
+    public ImportEntryResult(String name, Status status, String message) {
+        this.name = name;
+        this.status = status;
+        this.message = message;
+    }
+    
+    public static ImportEntryResult imported(String name) {
+        return new ImportEntryResult(name, Status.IMPORTED, null);
+    }
+    
+    public static ImportEntryResult skipped(String name, String message) {
+        return new ImportEntryResult(name, Status.SKIPPED, message);
+    }
+    
+    public static ImportEntryResult failed(String name, String message) {
+        return new ImportEntryResult(name, Status.FAILED, message);
+    }
+    
+    public void markFailed(String message) {
+        this.status = Status.FAILED;
+        this.message = message;
+    }
+    
+    public String getName() { return name; }
+    public Status getStatus() { return status; }
+    public String getMessage() { return message; }
+    
+    public Long getArticleId() { return articleId; }
+    public void setArticleId(Long articleId) { this.articleId = articleId; }
+}
@@ -0,0 +1,74 @@
+package com.guap.articlecatalog.importer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Состояние задачи импорта. Читается из других запросов для отображения прогресса.
+ */
+public class ImportJob {
+    
+    public enum Status { RUNNING, COMPLETED, FAILED }
+    
+    private final String id;
+    private final Long userId;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile LocalDateTime finishedAt;
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+    private final List<ImportEntryResult> entries = new ArrayList<>();
+    
+    public ImportJob(String id, Long userId) {
+        this.id = id;
+        this.userId = userId;
+    }
+    
+    public synchronized void record(ImportEntryResult result) {
+        entries.add(result);
+    }
+    
+    public void complete() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+    
+    public void fail(String error) {
+        this.finishedAt = LocalDateTime.now();
+        this.error = error;
+        this.status = Status.FAILED;
+    }
+    
+    @JsonIgnore
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+    
+    public String getId() { return id; }
+    public Long getUserId() { return userId; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public Status getStatus() { return status; }
+    public String getError() { return error; }
+    
+    public synchronized int getProcessed() { return entries.size(); }
+    public int getImported() { return count(ImportEntryResult.Status.IMPORTED); }
+    public int getSkipped() { return count(ImportEntryResult.Status.SKIPPED); }
+    public int getFailed() { return count(ImportEntryResult.Status.FAILED); }
+    
+    public synchronized List<ImportEntryResult> getEntries() {
+        return new ArrayList<>(entries);
+    }
+    
+    private synchronized int count(ImportEntryResult.Status entryStatus) {
+        int count = 0;
+        for (ImportEntryResult entry : entries) {
+            if (entry.getStatus() == entryStatus) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
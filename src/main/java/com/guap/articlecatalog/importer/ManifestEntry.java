@@ -0,0 +1,34 @@
+package com.guap.articlecatalog.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Библиографические данные одного файла из манифеста импорта.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ManifestEntry {
+    private String file;
+    private String title;
+    private String authors;
+    private Integer publicationYear;
+    private String keywords;
+    private String topic;
+    
+    public String getFile() { return file; }
+    public void setFile(String file) { this.file = file; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getAuthors() { return authors; }
+    public void setAuthors(String authors) { this.authors = authors; }
+    
+    public Integer getPublicationYear() { return publicationYear; }
+    public void setPublicationYear(Integer publicationYear) { this.publicationYear = publicationYear; }
+    
+    public String getKeywords() { return keywords; }
+    public void setKeywords(String keywords) { this.keywords = keywords; }
+    
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+}
@@ -0,0 +1,128 @@
+package com.guap.articlecatalog.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Разбор манифеста импорта: CSV с заголовком
+ * (file,title,authors,publicationYear,keywords,topic) или JSON-массив объектов с теми же полями.
+ */
+public final class ManifestParser {
+    
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private ManifestParser() {
+    }
+    
+    public static Map<String, ManifestEntry> parse(InputStream input, String filename) throws IOException {
+        List<ManifestEntry> entries = filename != null && filename.toLowerCase().endsWith(".json")
+                ? objectMapper.readValue(input, new TypeReference<List<ManifestEntry>>() {})
+                : parseCsv(input);
+        
+        Map<String, ManifestEntry> byFile = new HashMap<>();
+        for (ManifestEntry entry : entries) {
+            if (entry.getFile() == null || entry.getFile().isBlank()) {
+                throw new IllegalArgumentException("В манифесте есть запись без имени файла");
+            }
+            byFile.put(entry.getFile().trim(), entry);
+        }
+        return byFile;
+    }
+    
+    private static List<ManifestEntry> parseCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("Манифест пуст");
+        }
+        // BOM из Excel
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        
+        List<String> header = splitCsvLine(headerLine);
+        if (!header.contains("file")) {
+            throw new IllegalArgumentException("В заголовке манифеста нет колонки file");
+        }
+        
+        List<ManifestEntry> entries = new ArrayList<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = splitCsvLine(line);
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                row.put(header.get(i), values.get(i));
+            }
+            entries.add(toEntry(row, lineNumber));
+        }
+        return entries;
+    }
+    
+    private static ManifestEntry toEntry(Map<String, String> row, int lineNumber) {
+        ManifestEntry entry = new ManifestEntry();
+        entry.setFile(row.get("file"));
+        entry.setTitle(row.get("title"));
+        entry.setAuthors(row.get("authors"));
+        entry.setKeywords(emptyToNull(row.get("keywords")));
+        entry.setTopic(emptyToNull(row.get("topic")));
+        
+        String year = emptyToNull(row.get("publicationYear"));
+        if (year != null) {
+            try {
+                entry.setPublicationYear(Integer.valueOf(year));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Некорректный год в строке " + lineNumber + ": " + year);
+            }
+        }
+        return entry;
+    }
+    
+    // Поля в кавычках могут содержать запятые, кавычка внутри экранируется удвоением
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString().trim());
+        return values;
+    }
+    
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,52 @@
+package com.guap.articlecatalog.importer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Поток, который обрывается ошибкой, если прочитано больше maxBytes.
+ * Ограничивает архив импорта, читаемый прямо из тела запроса.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+    
+    private final long maxBytes;
+    private long count;
+    
+    public SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+    
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+    
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+    
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+    
+    private void count(long read) throws IOException {
+        count += read;
+        if (count > maxBytes) {
+            throw new IOException("Архив больше допустимого размера (" + maxBytes + " байт)");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.guap.articlecatalog.logging;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Правило прореживания для логгеров с именем, начинающимся на logger: не больше
+ * permitsPerSecond событий в секунду, остальные отбрасываются (счёт в dropped).
+ * Окно - календарная секунда; на стыке окон возможен небольшой перебор, для лога это неважно.
+ */
+public class SamplingRule {
+    
+    private String logger = "";
+    private int permitsPerSecond = 100;
+    
+    private final AtomicLong windowSecond = new AtomicLong(-1);
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    
+    boolean tryAcquire() {
+        long second = System.currentTimeMillis() / 1000;
+        long current = windowSecond.get();
+        if (second != current && windowSecond.compareAndSet(current, second)) {
+            count.set(0);
+        }
+        if (count.incrementAndGet() <= permitsPerSecond) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+    
+    boolean matches(String loggerName) {
+        return loggerName.startsWith(logger);
+    }
+    
+    public String getLogger() { return logger; }
+    public void setLogger(String logger) { this.logger = logger; }
+    
+    public int getPermitsPerSecond() { return permitsPerSecond; }
+    public void setPermitsPerSecond(int permitsPerSecond) { this.permitsPerSecond = permitsPerSecond; }
+    
+    public long getDropped() { return dropped.get(); }
+}
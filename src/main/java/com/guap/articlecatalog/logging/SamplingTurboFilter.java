@@ -0,0 +1,67 @@
+package com.guap.articlecatalog.logging;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Прореживание событий INFO и ниже по логгерам (правила SamplingRule в logback-spring.xml).
+ * WARN и ERROR проходят всегда. TurboFilter вызывается до проверки уровня, поэтому
+ * выключенный уровень отсекается первым же сравнением, без поиска правила.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    
+    private static final SamplingRule NO_RULE = new SamplingRule();
+    
+    private final List<SamplingRule> rules = new ArrayList<>();
+    // Правило для имени логгера ищется один раз: логгеров в приложении конечное число
+    private final Map<String, SamplingRule> rulesByLogger = new ConcurrentHashMap<>();
+    
+    public void addRule(SamplingRule rule) {
+        rules.add(rule);
+    }
+    
+    public List<SamplingRule> getRules() {
+        return rules;
+    }
+    
+    @Override
+    public void start() {
+        // Самое длинное совпадение побеждает: правило пакета уточняет правило корня
+        rules.sort(Comparator.comparingInt((SamplingRule rule) -> rule.getLogger().length()).reversed());
+        rulesByLogger.clear();
+        super.start();
+    }
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format == null - проверка isXxxEnabled(), а не событие: её не прореживаем
+        if (format == null || level.levelInt >= Level.WARN_INT
+                || level.levelInt < logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        SamplingRule rule = rulesByLogger.computeIfAbsent(logger.getName(), this::findRule);
+        if (rule == NO_RULE || rule.tryAcquire()) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+    
+    private SamplingRule findRule(String loggerName) {
+        for (SamplingRule rule : rules) {
+            if (rule.matches(loggerName)) {
+                return rule;
+            }
+        }
+        return NO_RULE;
+    }
+}
@@ -0,0 +1,57 @@
+package com.guap.articlecatalog.metrics;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.guap.articlecatalog.stats.SqlStatementStatistics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Число SQL-операторов на запрос по шаблону маршрута (uri, как в http.server.requests);
+ * запросы сверх порогов передаются в SqlStatementStatistics.
+ * Стоит перед Spring Security, чтобы учитывать и загрузку пользователя при входе.
+ */
+@Component
+// Сразу после RequestIdFilter: предупреждения о лишних операторах идут с requestId
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class StatementCountFilter extends OncePerRequestFilter {
+    
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementStatistics sqlStatementStatistics;
+    
+    public StatementCountFilter(MeterRegistry meterRegistry, SqlStatementStatistics sqlStatementStatistics) {
+        this.meterRegistry = meterRegistry;
+        this.sqlStatementStatistics = sqlStatementStatistics;
+    }
+    
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCounter.Statements statements = StatementCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("hibernate.statements.per.request")
+                    .description("SQL-операторы Hibernate за один запрос")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements.getTotal());
+            sqlStatementStatistics.record(request.getMethod(), uri, statements);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.guap.articlecatalog.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL-операторы Hibernate в текущем потоке между start() и stop(), в том числе
+ * повторы одного и того же оператора (признак N+1). Параметры Hibernate всегда передаёт
+ * через ?, поэтому текст оператора и есть его форма; значения в подсчёт не попадают.
+ * <p>
+ * Подключается свойством hibernate.session_factory.statement_inspector; Hibernate создаёт
+ * экземпляр сам, поэтому состояние статическое. Операторы вне отсчёта (фоновые задачи,
+ * асинхронная часть запроса) не учитываются.
+ */
+public class StatementCounter implements StatementInspector {
+    
+    // Больше разных форм за запрос не отслеживаем: общий счёт продолжается
+    static final int MAX_SHAPES = 256;
+    
+    private static final ThreadLocal<Statements> CURRENT = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        Statements statements = CURRENT.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+    
+    public static void start() {
+        CURRENT.set(new Statements());
+    }
+    
+    // Возвращает операторы с вызова start(); без start() - пустой результат
+    public static Statements stop() {
+        Statements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements != null ? statements : new Statements();
+    }
+    
+    /**
+     * Операторы одного запроса: общее число и самый часто повторённый оператор.
+     */
+    public static class Statements {
+        
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int total;
+        private String mostRepeated;
+        private int maxRepeats;
+        
+        void add(String sql) {
+            total++;
+            Integer repeats = shapes.get(sql);
+            if (repeats == null) {
+                if (shapes.size() >= MAX_SHAPES) {
+                    return;
+                }
+                repeats = 0;
+            }
+            shapes.put(sql, ++repeats);
+            if (repeats > maxRepeats) {
+                maxRepeats = repeats;
+                mostRepeated = sql;
+            }
+        }
+        
+        public int getTotal() { return total; }
+        public String getMostRepeated() { return mostRepeated; }
+        public int getMaxRepeats() { return maxRepeats; }
+    }
+}
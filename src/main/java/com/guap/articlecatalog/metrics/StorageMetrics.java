@@ -0,0 +1,102 @@
+package com.guap.articlecatalog.metrics;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Метрики файлового хранилища: байты, принятые от пользователей и отданные им,
+ * а также размер и число файлов в каталоге загрузок.
+ * Каталог обходится по расписанию, а не при каждом опросе метрик.
+ */
+@Component
+public class StorageMetrics {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StorageMetrics.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong storedFiles = new AtomicLong();
+    private Counter uploadedBytes;
+    private Counter downloadedBytes;
+    
+    @Value("${app.upload.dir:./uploads}")
+    private String uploadDir = "./uploads";
+    
+    public StorageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    public void init() {
+        uploadedBytes = Counter.builder("storage.transfer")
+                .description("Байты файлов, принятые и отданные хранилищем")
+                .baseUnit("bytes").tag("direction", "upload")
+                .register(meterRegistry);
+        downloadedBytes = Counter.builder("storage.transfer")
+                .description("Байты файлов, принятые и отданные хранилищем")
+                .baseUnit("bytes").tag("direction", "download")
+                .register(meterRegistry);
+        Gauge.builder("storage.size", storedBytes, AtomicLong::get)
+                .description("Размер каталога загрузок")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("storage.files", storedFiles, AtomicLong::get)
+                .description("Файлы в каталоге загрузок")
+                .register(meterRegistry);
+    }
+    
+    public void recordUpload(long bytes) {
+        uploadedBytes.increment(bytes);
+    }
+    
+    public void recordDownload(long bytes) {
+        downloadedBytes.increment(bytes);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.metrics.storage-scan-interval-ms:60000}")
+    public void scan() {
+        Path root = Paths.get(uploadDir);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        long[] totals = new long[2];
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    totals[0] += attrs.size();
+                    totals[1]++;
+                    return FileVisitResult.CONTINUE;
+                }
+                
+                // Файл могли удалить во время обхода
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Не удалось обойти каталог загрузок {}: {}", root, e.getMessage());
+            return;
+        }
+        storedBytes.set(totals[0]);
+        storedFiles.set(totals[1]);
+    }
+}
@@ -2,22 +2,40 @@ package com.guap.articlecatalog.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
-@Table(name = "articles")
+// Индексы создаются миграциями V2__article_indexes.sql, V5__keyset_feed_indexes.sql и повторены здесь для наглядности
+@Table(name = "articles", indexes = {
+    @Index(name = "idx_articles_upload_date", columnList = "upload_date DESC, id DESC"),
+    @Index(name = "idx_articles_user_upload", columnList = "user_id, upload_date DESC"),
+    @Index(name = "idx_articles_topic_upload", columnList = "topic, upload_date DESC, id DESC")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Удалённые статьи (с отметкой deletedAt) не видны ни одному запросу до окончательной очистки
+@SQLRestriction("deleted_at IS NULL")
 public class Article {
+    // Последовательность с pooled-lo: id выдаются блоками, вставки идут пакетами
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "articles_seq")
+    @SequenceGenerator(name = "articles_seq", sequenceName = "articles_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Название статьи не может быть пустым")
@@ -42,6 +60,13 @@ public class Article {
     private Long fileSize;
     private LocalDateTime uploadDate;
     
+    // SHA-256 содержимого PDF (заполняется при импорте архива)
+    @Column(length = 64)
+    private String contentHash;
+    
+    // Момент удаления: строку и файл позже удаляет ArticlePurgeService по очереди article_tombstones
+    private LocalDateTime deletedAt;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -84,6 +109,12 @@ public class Article {
     public LocalDateTime getUploadDate() { return uploadDate; }
     public void setUploadDate(LocalDateTime uploadDate) { this.uploadDate = uploadDate; }
     
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+    
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.guap.articlecatalog.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Запись очереди очистки для удалённой статьи (см. ArticlePurgeService)
+@Entity
+@Table(name = "article_tombstones")
+public class ArticleTombstone {
+    @Id
+    private Long articleId;
+    
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+    
+    public ArticleTombstone() {
+    }
+    
+    public ArticleTombstone(Long articleId, LocalDateTime deletedAt) {
+        this.articleId = articleId;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters and Setters
+    public Long getArticleId() { return articleId; }
+    public void setArticleId(Long articleId) { this.articleId = articleId; }
+    
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
@@ -0,0 +1,60 @@
+package com.guap.articlecatalog.ratelimit;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Проверка лимитов для загрузок, скачиваний и поиска. Стоит в цепочке Spring Security после
+ * проверки доступа, чтобы корзина выбиралась по пользователю. Адрес клиента - getRemoteAddr():
+ * за прокси его подставляет server.forward-headers-strategy.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final RateLimiter rateLimiter;
+    
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitGroup group = rateLimiter.isEnabled() ? RateLimitGroup.match(request) : null;
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        long retryAfterMs = rateLimiter.acquire(group, currentPrincipal(), request.getRemoteAddr());
+        if (retryAfterMs == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        long retryAfterSeconds = (retryAfterMs + 999) / 1000;
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Слишком много запросов. Повторите через " + retryAfterSeconds + " с");
+    }
+    
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
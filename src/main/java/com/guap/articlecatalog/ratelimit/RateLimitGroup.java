@@ -0,0 +1,56 @@
+package com.guap.articlecatalog.ratelimit;
+
+import org.springframework.util.AntPathMatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Группы маршрутов с отдельными лимитами: запись файлов, отдача файлов и поиск.
+ */
+public enum RateLimitGroup {
+    UPLOAD("upload"),
+    DOWNLOAD("download"),
+    SEARCH("search");
+    
+    private static final AntPathMatcher pathMatcher = new AntPathMatcher();
+    
+    private final String key;
+    
+    RateLimitGroup(String key) {
+        this.key = key;
+    }
+    
+    // Имя группы в настройках app.ratelimit.<key>.* и в тегах метрик
+    public String getKey() { return key; }
+    
+    public static RateLimitGroup match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        
+        if ("POST".equals(method)) {
+            if (matches(path, "/articles/add", "/articles/edit/*", "/articles/import", "/user/profile/upload-avatar")) {
+                return UPLOAD;
+            }
+            return null;
+        }
+        if (!"GET".equals(method)) {
+            return null;
+        }
+        if (matches(path, "/articles/download/*", "/articles/archive", "/articles/export", "/uploads/**")) {
+            return DOWNLOAD;
+        }
+        if (matches(path, "/articles", "/articles/my", "/user/search", "/api/v1/articles", "/api/v1/articles/search", "/api/v1/users")) {
+            return SEARCH;
+        }
+        return null;
+    }
+    
+    private static boolean matches(String path, String... patterns) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
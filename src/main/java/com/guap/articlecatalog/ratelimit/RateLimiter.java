@@ -0,0 +1,203 @@
+package com.guap.articlecatalog.ratelimit;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Лимиты запросов по группам маршрутов. У каждого пользователя своя корзина в группе,
+ * у каждого IP - общая корзина в ip-factor раз больше (за одним адресом бывает несколько
+ * пользователей). Запрос проходит, только если токен есть в обеих.
+ * <p>
+ * Корзины хранятся в ConcurrentHashMap не больше max-buckets штук; простаивающие удаляются
+ * по расписанию. Если карта заполнена, новый ключ освобождает место: удаляется сотая часть
+ * корзин, дольше всех не использовавшихся (один проход по карте на много вставок).
+ */
+@Component
+public class RateLimiter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<RateLimitGroup, Limits> limits = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, Counter> allowedCounters = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, Counter> throttledCounters = new EnumMap<>(RateLimitGroup.class);
+    private Counter evictedCounter;
+    private Counter displacedCounter;
+    
+    @Value("${app.ratelimit.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${app.ratelimit.max-buckets:100000}")
+    private int maxBuckets = 100000;
+    
+    @Value("${app.ratelimit.idle-eviction-ms:600000}")
+    private long idleEvictionMs = 600000;
+    
+    @Value("${app.ratelimit.ip-factor:4}")
+    private double ipFactor = 4;
+    
+    @Value("${app.ratelimit.upload.capacity:10}")
+    private double uploadCapacity = 10;
+    
+    @Value("${app.ratelimit.upload.refill-per-second:0.2}")
+    private double uploadRefillPerSecond = 0.2;
+    
+    @Value("${app.ratelimit.download.capacity:30}")
+    private double downloadCapacity = 30;
+    
+    @Value("${app.ratelimit.download.refill-per-second:2}")
+    private double downloadRefillPerSecond = 2;
+    
+    @Value("${app.ratelimit.search.capacity:60}")
+    private double searchCapacity = 60;
+    
+    @Value("${app.ratelimit.search.refill-per-second:5}")
+    private double searchRefillPerSecond = 5;
+    
+    public RateLimiter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    public void init() {
+        limits.put(RateLimitGroup.UPLOAD, new Limits(uploadCapacity, uploadRefillPerSecond));
+        limits.put(RateLimitGroup.DOWNLOAD, new Limits(downloadCapacity, downloadRefillPerSecond));
+        limits.put(RateLimitGroup.SEARCH, new Limits(searchCapacity, searchRefillPerSecond));
+        
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            allowedCounters.put(group, Counter.builder("ratelimit.requests")
+                    .description("Запросы к маршрутам с лимитами")
+                    .tag("group", group.getKey()).tag("outcome", "allowed")
+                    .register(meterRegistry));
+            throttledCounters.put(group, Counter.builder("ratelimit.requests")
+                    .description("Запросы к маршрутам с лимитами")
+                    .tag("group", group.getKey()).tag("outcome", "throttled")
+                    .register(meterRegistry));
+        }
+        evictedCounter = Counter.builder("ratelimit.buckets.evicted")
+                .description("Корзины, удалённые за простой или ради места для новых")
+                .tag("reason", "idle")
+                .register(meterRegistry);
+        displacedCounter = Counter.builder("ratelimit.buckets.evicted")
+                .description("Корзины, удалённые за простой или ради места для новых")
+                .tag("reason", "full")
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.buckets", buckets, Map::size)
+                .description("Корзины в памяти")
+                .register(meterRegistry);
+    }
+    
+    public boolean isEnabled() { return enabled; }
+    
+    /**
+     * Забирает токен группы для пользователя (null - анонимный запрос) и адреса.
+     * Возвращает 0, если запрос разрешён, иначе - через сколько миллисекунд повторить.
+     */
+    public long acquire(RateLimitGroup group, String principal, String remoteAddress) {
+        long now = System.nanoTime();
+        Limits groupLimits = limits.get(group);
+        
+        TokenBucket ipBucket = bucket(group.getKey() + "|ip|" + remoteAddress,
+                groupLimits.capacity * ipFactor, groupLimits.refillPerSecond * ipFactor, now);
+        TokenBucket userBucket = principal == null ? null : bucket(group.getKey() + "|user|" + principal,
+                groupLimits.capacity, groupLimits.refillPerSecond, now);
+        
+        long waitNanos = userBucket != null ? userBucket.tryConsume(now) : 0;
+        if (waitNanos == 0) {
+            waitNanos = ipBucket.tryConsume(now);
+            if (waitNanos > 0 && userBucket != null) {
+                userBucket.refund(now);
+            }
+        }
+        
+        if (waitNanos == 0) {
+            allowedCounters.get(group).increment();
+            return 0;
+        }
+        throttledCounters.get(group).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+    
+    // Простаивающая дольше времени пополнения корзина полна - удаление ничего не меняет для клиента
+    @Scheduled(fixedDelayString = "${app.ratelimit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long threshold = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdleSince(threshold));
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            evictedCounter.increment(evicted);
+            logger.debug("Удалено простаивающих корзин лимитов: {}", evicted);
+        }
+    }
+    
+    int getBucketCount() {
+        return buckets.size();
+    }
+    
+    private TokenBucket bucket(String key, double capacity, double refillPerSecond, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        // Предел проверяется без блокировки и может быть превышен на число одновременных вставок
+        if (buckets.size() >= maxBuckets) {
+            makeRoom();
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerSecond, now));
+    }
+    
+    // Удаляет сотую часть корзин (не меньше одной), дольше всех не использовавшихся.
+    // Под блокировкой, чтобы одновременные вставки не сканировали карту каждая
+    private synchronized void makeRoom() {
+        int excess = buckets.size() - maxBuckets + 1;
+        if (excess <= 0) {
+            return;
+        }
+        int toRemove = Math.max(excess, maxBuckets / 100);
+        
+        // Куча с самой свежей из отобранных корзин в вершине
+        PriorityQueue<Map.Entry<String, TokenBucket>> oldest = new PriorityQueue<>(toRemove + 1,
+                Comparator.comparingLong((Map.Entry<String, TokenBucket> e) -> e.getValue().lastUsedAt()).reversed());
+        for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+            oldest.add(Map.entry(entry.getKey(), entry.getValue()));
+            if (oldest.size() > toRemove) {
+                oldest.poll();
+            }
+        }
+        int removed = 0;
+        for (Map.Entry<String, TokenBucket> entry : oldest) {
+            if (buckets.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        displacedCounter.increment(removed);
+        logger.warn("Достигнут предел корзин лимитов ({}), удалено давно не использовавшихся: {}", maxBuckets, removed);
+    }
+    
+    private static final class Limits {
+        private final double capacity;
+        private final double refillPerSecond;
+        
+        private Limits(double capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
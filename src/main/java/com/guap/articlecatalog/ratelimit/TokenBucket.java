@@ -0,0 +1,72 @@
+package com.guap.articlecatalog.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Маркерная корзина без блокировок: состояние (токены, время пополнения) заменяется
+ * целиком через compareAndSet. Пополнение вычисляется лениво при обращении.
+ */
+final class TokenBucket {
+    
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    
+    TokenBucket(double capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000.0;
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+    
+    /**
+     * Забирает один токен. Возвращает 0, если запрос разрешён, иначе - сколько наносекунд
+     * ждать следующего токена.
+     */
+    long tryConsume(long now) {
+        while (true) {
+            State current = state.get();
+            double tokens = refilled(current, now);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.updatedAt)))) {
+                return 0;
+            }
+        }
+    }
+    
+    // Возврат токена, если запрос всё же отклонён другой корзиной
+    void refund(long now) {
+        while (true) {
+            State current = state.get();
+            State next = new State(Math.min(capacity, refilled(current, now) + 1), Math.max(now, current.updatedAt));
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+    
+    // Корзина, не тронутая дольше времени полного пополнения, неотличима от новой
+    boolean isIdleSince(long threshold) {
+        return state.get().updatedAt - threshold < 0;
+    }
+    
+    long lastUsedAt() {
+        return state.get().updatedAt;
+    }
+    
+    private double refilled(State current, long now) {
+        long elapsed = Math.max(0, now - current.updatedAt);
+        return Math.min(capacity, current.tokens + elapsed * tokensPerNano);
+    }
+    
+    private static final class State {
+        private final double tokens;
+        private final long updatedAt;
+        
+        private State(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -1,42 +1,159 @@
 package com.guap.articlecatalog.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.guap.articlecatalog.dto.ArticleFileRef;
+import com.guap.articlecatalog.dto.ArticleSummary;
 import com.guap.articlecatalog.model.Article;
 import com.guap.articlecatalog.model.User;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
+    
+    // Проекция для карточек списков: статья и имя пользователя одним запросом
+    String SUMMARY_SELECT = "SELECT new com.guap.articlecatalog.dto.ArticleSummary(" +
+            "a.id, a.title, a.authors, a.publicationYear, a.keywords, a.topic, a.uploadDate, u.id, u.username) " +
+            "FROM Article a JOIN a.user u ";
+    
+    // Лента по ключу (дата загрузки, id): порядок совпадает с индексами (upload_date DESC, id DESC).
+    // Условие <= по дате задаёт диапазон индекса, OR лишь отсекает уже отданные строки той же даты
+    String KEYSET_AFTER = "a.uploadDate <= :uploadDate AND (a.uploadDate < :uploadDate OR a.id < :id) ";
+    String KEYSET_ORDER = "ORDER BY a.uploadDate DESC, a.id DESC";
+    
+    // Файлы для архива: id, имя и путь без загрузки сущностей
+    String FILE_REF_SELECT = "SELECT new com.guap.articlecatalog.dto.ArticleFileRef(" +
+            "a.id, a.pdfFileName, a.pdfFilePath) FROM Article a ";
+    
+    String SEARCH_CONDITION = "(:author IS NULL OR :author = '' OR LOWER(a.authors) LIKE LOWER(CONCAT('%', :author, '%'))) AND " +
+            "(:topic IS NULL OR :topic = '' OR a.topic = :topic) AND " +
+            "(:keyword IS NULL OR :keyword = '' OR LOWER(a.keywords) LIKE LOWER(CONCAT('%', :keyword, '%')))";
+    
+    String USER_SEARCH_CONDITION = "a.user = :user AND " +
+            "(LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(a.authors) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(a.keywords) LIKE LOWER(CONCAT('%', :query, '%')))";
+    
     Page<Article> findByUser(User user, Pageable pageable);
     List<Article> findByUser(User user);
     
     // Исправленный запрос для общего поиска
-    @Query("SELECT a FROM Article a WHERE " +
-       "(:author IS NULL OR :author = '' OR LOWER(a.authors) LIKE LOWER(CONCAT('%', :author, '%'))) AND " +
-       "(:topic IS NULL OR :topic = '' OR a.topic = :topic) AND " +
-       "(:keyword IS NULL OR :keyword = '' OR LOWER(a.keywords) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    @Query("SELECT a FROM Article a WHERE " + SEARCH_CONDITION)
        Page<Article> searchArticles(@Param("author") String author, 
                                    @Param("topic") String topic, 
                                    @Param("keyword") String keyword, 
                                    Pageable pageable);
     
-    @Query("SELECT DISTINCT a.topic FROM Article a WHERE a.topic IS NOT NULL AND a.topic != ''")
-    List<String> findAllTopics();
+    @Query("SELECT a.topic, COUNT(a) FROM Article a WHERE a.topic IS NOT NULL AND a.topic != '' GROUP BY a.topic")
+    List<Object[]> countArticlesByTopic();
     
-    @Query("SELECT a FROM Article a WHERE a.user = :user AND " +
-           "(LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(a.authors) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(a.keywords) LIKE LOWER(CONCAT('%', :query, '%')))")
+    @Query("SELECT a FROM Article a WHERE " + USER_SEARCH_CONDITION)
     Page<Article> searchUserArticles(@Param("user") User user, 
                                      @Param("query") String query, 
                                      Pageable pageable);
     
+    @Query(value = SUMMARY_SELECT + "WHERE " + SEARCH_CONDITION,
+           countQuery = "SELECT COUNT(a) FROM Article a WHERE " + SEARCH_CONDITION)
+    Page<ArticleSummary> searchArticleSummaries(@Param("author") String author,
+                                                @Param("topic") String topic,
+                                                @Param("keyword") String keyword,
+                                                Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE a.topic = :topic",
+           countQuery = "SELECT COUNT(a) FROM Article a WHERE a.topic = :topic")
+    Page<ArticleSummary> findSummariesByTopic(@Param("topic") String topic, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE a.user = :user",
+           countQuery = "SELECT COUNT(a) FROM Article a WHERE a.user = :user")
+    Page<ArticleSummary> findSummariesByUser(@Param("user") User user, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE " + USER_SEARCH_CONDITION,
+           countQuery = "SELECT COUNT(a) FROM Article a WHERE " + USER_SEARCH_CONDITION)
+    Page<ArticleSummary> searchUserArticleSummaries(@Param("user") User user,
+                                                    @Param("query") String query,
+                                                    Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.id = :id")
+    Optional<ArticleSummary> findSummaryById(@Param("id") Long id);
+    
+    // Страницы ленты без подсчёта общего числа строк: Pageable задаёт только LIMIT
+    @Query(SUMMARY_SELECT + KEYSET_ORDER)
+    List<ArticleSummary> findSummariesFirst(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE " + KEYSET_AFTER + KEYSET_ORDER)
+    List<ArticleSummary> findSummariesAfter(@Param("uploadDate") LocalDateTime uploadDate,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.topic = :topic " + KEYSET_ORDER)
+    List<ArticleSummary> findSummariesByTopicFirst(@Param("topic") String topic, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.topic = :topic AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<ArticleSummary> findSummariesByTopicAfter(@Param("topic") String topic,
+                                                   @Param("uploadDate") LocalDateTime uploadDate,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+    
     long countByUser(User user);
+    
+    @Query("SELECT a.contentHash FROM Article a WHERE a.user = :user AND a.contentHash IS NOT NULL")
+    List<String> findContentHashesByUser(@Param("user") User user);
+    
+    boolean existsByPdfFilePath(String pdfFilePath);
+    
+    @Query("SELECT a.user.id, COUNT(a) FROM Article a GROUP BY a.user.id")
+    List<Object[]> countArticlesByUser();
+
+    // Удалённая статья (в обход @SQLRestriction) - для отмены удаления
+    @Query(value = "SELECT * FROM articles WHERE id = :id AND deleted_at IS NOT NULL", nativeQuery = true)
+    Optional<Article> findDeletedById(@Param("id") Long id);
+    
+    // Выборки файлов для ZIP-архива; Pageable ограничивает число файлов
+    @Query(FILE_REF_SELECT + "WHERE a.id IN :ids ORDER BY a.id")
+    List<ArticleFileRef> findFileRefsByIds(@Param("ids") Collection<Long> ids, Pageable pageable);
+    
+    @Query(FILE_REF_SELECT + "WHERE " + SEARCH_CONDITION + " " + KEYSET_ORDER)
+    List<ArticleFileRef> searchFileRefs(@Param("author") String author,
+                                        @Param("topic") String topic,
+                                        @Param("keyword") String keyword,
+                                        Pageable pageable);
+    
+    @Query(FILE_REF_SELECT + "WHERE a.user = :user " + KEYSET_ORDER)
+    List<ArticleFileRef> findFileRefsByUser(@Param("user") User user, Pageable pageable);
+    
+    @Query(FILE_REF_SELECT + "WHERE " + USER_SEARCH_CONDITION + " " + KEYSET_ORDER)
+    List<ArticleFileRef> searchUserFileRefs(@Param("user") User user,
+                                            @Param("query") String query,
+                                            Pageable pageable);
+    
+    // Потоковый поиск: проекции читаются порциями и не попадают в контекст персистентности
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query(SUMMARY_SELECT + "WHERE " + SEARCH_CONDITION + " " + KEYSET_ORDER)
+    Stream<ArticleSummary> streamArticleSummaries(@Param("author") String author,
+                                                  @Param("topic") String topic,
+                                                  @Param("keyword") String keyword);
+    
+    // Курсор для выгрузки каталога: строки читаются порциями, кэш второго уровня не наполняется
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Article a JOIN FETCH a.user ORDER BY a.id")
+    Stream<Article> streamAllForExport();
 }
\ No newline at end of file
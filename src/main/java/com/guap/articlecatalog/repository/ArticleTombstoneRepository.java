@@ -0,0 +1,10 @@
+package com.guap.articlecatalog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.guap.articlecatalog.model.ArticleTombstone;
+
+@Repository
+public interface ArticleTombstoneRepository extends JpaRepository<ArticleTombstone, Long> {
+}
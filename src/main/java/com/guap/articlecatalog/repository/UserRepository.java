@@ -3,15 +3,27 @@ package com.guap.articlecatalog.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.guap.articlecatalog.dto.UserSummary;
 import com.guap.articlecatalog.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    
+    String USER_SUMMARY_SELECT = "SELECT new com.guap.articlecatalog.dto.UserSummary(" +
+            "u.id, u.username, u.fullName, u.email, u.avatarPath, u.registrationDate) FROM User u ";
+    
+    // Вызывается на каждый аутентифицированный запрос - результат кэшируется
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     
@@ -21,6 +33,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<User> searchUsers(@Param("query") String query);
     
+    // Страницы списка пользователей по ключу id: первая страница - afterId = 0
+    @Query(USER_SUMMARY_SELECT + "WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(USER_SUMMARY_SELECT + "WHERE u.id > :afterId AND (" +
+           "LOWER(u.username) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(u.fullName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))) ORDER BY u.id")
+    List<UserSummary> searchSummariesAfter(@Param("query") String query,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+    
+    @Query(USER_SUMMARY_SELECT + "WHERE u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+    
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 }
\ No newline at end of file
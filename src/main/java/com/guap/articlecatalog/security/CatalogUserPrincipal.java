@@ -0,0 +1,90 @@
+package com.guap.articlecatalog.security;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.guap.articlecatalog.model.User;
+
+/**
+ * Неизменяемый снимок пользователя, хранимый в сессии после входа.
+ * Контроллеры получают его без обращения к БД; пароль стирается после аутентификации.
+ */
+public class CatalogUserPrincipal implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final Set<String> roles;
+    private final String avatarPath;
+    private final List<GrantedAuthority> authorities;
+    private String password;
+
+    public CatalogUserPrincipal(Long id, String username, String password, Set<String> roles, String avatarPath) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.roles = Set.copyOf(roles);
+        this.avatarPath = avatarPath;
+        this.authorities = this.roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    public static CatalogUserPrincipal from(User user) {
+        return new CatalogUserPrincipal(user.getId(), user.getUsername(), user.getPassword(),
+                user.getRoles(), user.getAvatarPath());
+    }
+
+    public Long getId() { return id; }
+    public Set<String> getRoles() { return roles; }
+    public String getAvatarPath() { return avatarPath; }
+
+    @Override
+    public String getUsername() { return username; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
+
+    // Равенство по логину, как у org.springframework.security.core.userdetails.User
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CatalogUserPrincipal other && username.equals(other.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [id=" + id + ", username=" + username + ", roles=" + roles + "]";
+    }
+}
@@ -0,0 +1,30 @@
+package com.guap.articlecatalog.security;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.guap.articlecatalog.model.User;
+
+/**
+ * Строит снимок пользователя для сессии. Логинам из app.admin.usernames
+ * добавляется полномочие ADMIN (actuator, /stats/sql) без изменения записи в БД.
+ */
+@Component
+public class PrincipalFactory {
+
+    @Value("${app.admin.usernames:}")
+    private Set<String> adminUsernames = Set.of();
+
+    public CatalogUserPrincipal create(User user) {
+        if (!adminUsernames.contains(user.getUsername())) {
+            return CatalogUserPrincipal.from(user);
+        }
+        Set<String> roles = new HashSet<>(user.getRoles());
+        roles.add("ADMIN");
+        return new CatalogUserPrincipal(user.getId(), user.getUsername(), user.getPassword(),
+                roles, user.getAvatarPath());
+    }
+}
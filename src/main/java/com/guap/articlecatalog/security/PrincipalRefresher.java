@@ -0,0 +1,45 @@
+package com.guap.articlecatalog.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.stereotype.Component;
+
+import com.guap.articlecatalog.model.User;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Обновляет снимок пользователя в сессии после изменения профиля.
+ */
+@Component
+public class PrincipalRefresher {
+
+    private final SecurityContextHolderStrategy securityContextHolderStrategy =
+            SecurityContextHolder.getContextHolderStrategy();
+    private final SecurityContextRepository securityContextRepository =
+            new HttpSessionSecurityContextRepository();
+    private final PrincipalFactory principalFactory;
+
+    public PrincipalRefresher(PrincipalFactory principalFactory) {
+        this.principalFactory = principalFactory;
+    }
+
+    public void refresh(User user, HttpServletRequest request, HttpServletResponse response) {
+        CatalogUserPrincipal principal = principalFactory.create(user);
+        principal.eraseCredentials();
+        
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, principal.getAuthorities());
+        
+        SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+        context.setAuthentication(authentication);
+        securityContextHolderStrategy.setContext(context);
+        securityContextRepository.saveContext(context, request, response);
+    }
+}
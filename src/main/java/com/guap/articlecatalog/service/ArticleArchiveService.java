@@ -0,0 +1,19 @@
+package com.guap.articlecatalog.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+import com.guap.articlecatalog.dto.ArticleFileRef;
+import com.guap.articlecatalog.model.User;
+
+public interface ArticleArchiveService {
+    // Выбор файлов (не больше app.archive.max-files, иначе IllegalArgumentException)
+    List<ArticleFileRef> findFilesByIds(Collection<Long> ids);
+    List<ArticleFileRef> findFilesForSearch(String author, String topic, String keyword);
+    List<ArticleFileRef> findUserFiles(User user, String query);
+    
+    // Пишет ZIP-архив в поток по мере чтения файлов; возвращает число записанных файлов
+    int writeArchive(List<ArticleFileRef> files, OutputStream output) throws IOException;
+}
@@ -0,0 +1,10 @@
+package com.guap.articlecatalog.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.guap.articlecatalog.export.ExportFormat;
+
+public interface ArticleExportService {
+    long exportCatalog(ExportFormat format, OutputStream output) throws IOException;
+}
@@ -0,0 +1,16 @@
+package com.guap.articlecatalog.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import com.guap.articlecatalog.importer.ImportJob;
+import com.guap.articlecatalog.model.User;
+
+public interface ArticleImportService {
+    ImportJob importArchive(User owner, InputStream archive, InputStream manifest, String manifestFilename, String jobId);
+    String stageManifest(User owner, InputStream manifest, String manifestFilename) throws IOException;
+    ImportJob importArchive(User owner, InputStream archive, String manifestId, String jobId);
+    long getMaxArchiveSize();
+    Optional<ImportJob> getJob(String jobId);
+}
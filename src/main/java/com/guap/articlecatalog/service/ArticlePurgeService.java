@@ -0,0 +1,6 @@
+package com.guap.articlecatalog.service;
+
+public interface ArticlePurgeService {
+    // Окончательно удаляет статьи, удалённые раньше окна отмены; возвращает число удалённых
+    int purgeExpired();
+}
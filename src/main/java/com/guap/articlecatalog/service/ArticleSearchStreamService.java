@@ -0,0 +1,12 @@
+package com.guap.articlecatalog.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.guap.articlecatalog.dto.SearchStreamRequest;
+
+public interface ArticleSearchStreamService {
+    // Пишет найденные статьи построчно (NDJSON) по мере чтения из БД; возвращает число записанных
+    long streamSearch(SearchStreamRequest request, FilterProvider fields, OutputStream output) throws IOException;
+}
@@ -6,17 +6,33 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.guap.articlecatalog.dto.ArticleSummary;
+import com.guap.articlecatalog.dto.CursorPage;
 import com.guap.articlecatalog.model.Article;
 import com.guap.articlecatalog.model.User;
 
 public interface ArticleService {
     Article saveArticle(Article article, User user, MultipartFile pdfFile);
+    
+    // Пакетное сохранение статей с уже записанными файлами; возвращает число сохраненных
+    int saveAll(Iterable<Article> articles);
     Page<Article> getUserArticles(User user, Pageable pageable);
     Article getArticleById(Long id);
     Article updateArticle(Long id, Article articleDetails, MultipartFile pdfFile);
     void deleteArticle(Long id, User user);
+    Article restoreArticle(Long id, User user);
     Page<Article> searchArticles(String author, String topic, String keyword, Pageable pageable);
     Page<Article> searchUserArticles(User user, String query, Pageable pageable);
+    
+    // Проекции для страниц со списками (без загрузки сущностей)
+    Page<ArticleSummary> searchArticleSummaries(String author, String topic, String keyword, Pageable pageable);
+    Page<ArticleSummary> getUserArticleSummaries(User user, Pageable pageable);
+    Page<ArticleSummary> searchUserArticleSummaries(User user, String query, Pageable pageable);
+    
+    // Лента для API: страницы по ключу (курсору) без подсчёта общего числа строк
+    CursorPage<ArticleSummary> scrollArticleSummaries(String topic, String cursor, int size);
+    ArticleSummary getArticleSummary(Long id);
+    
     List<String> getAllTopics();
     byte[] getPdfFile(Long articleId);
     long getTotalArticlesCount();
@@ -6,6 +6,8 @@ import java.util.Optional;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.guap.articlecatalog.dto.CursorPage;
+import com.guap.articlecatalog.dto.UserSummary;
 import com.guap.articlecatalog.model.User;
 
 public interface UserService extends UserDetailsService {
@@ -20,5 +22,12 @@ public interface UserService extends UserDetailsService {
     
     User findById(Long id);
     
+    // Ссылка на пользователя без загрузки из БД (для передачи в запросы и связи)
+    User getReference(Long id);
+    
     List<User> searchUsers(String query);
+    
+    // Список пользователей для API: страницы по ключу (курсору)
+    CursorPage<UserSummary> scrollUserSummaries(String query, String cursor, int size);
+    UserSummary getUserSummary(Long id);
 }
\ No newline at end of file
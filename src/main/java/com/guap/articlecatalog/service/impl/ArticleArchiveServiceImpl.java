@@ -0,0 +1,186 @@
+package com.guap.articlecatalog.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import com.guap.articlecatalog.dto.ArticleFileRef;
+import com.guap.articlecatalog.metrics.StorageMetrics;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.service.ArticleArchiveService;
+import com.guap.articlecatalog.tracing.StorageObservation;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * ZIP-архив статей, собираемый на лету. PDF уже сжаты, поэтому записи STORED: для них
+ * заранее нужны размер и CRC, которые считаются отдельным проходом по файлу.
+ * Содержимое копируется через FileChannel.transferTo, в памяти - только буферы фиксированного размера.
+ * Список файлов выбирается до начала ответа, запись архива идёт без открытой транзакции.
+ */
+@Service
+public class ArticleArchiveServiceImpl implements ArticleArchiveService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ArticleArchiveServiceImpl.class);
+    
+    static final String MISSING_ENTRY = "MISSING.txt";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final ArticleRepository articleRepository;
+    private final StorageMetrics storageMetrics;
+    private final ObservationRegistry observationRegistry;
+    
+    @Value("${app.archive.max-files:500}")
+    private int maxFiles = 500;
+    
+    public ArticleArchiveServiceImpl(ArticleRepository articleRepository, StorageMetrics storageMetrics,
+                                     ObservationRegistry observationRegistry) {
+        this.articleRepository = articleRepository;
+        this.storageMetrics = storageMetrics;
+        this.observationRegistry = observationRegistry;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleFileRef> findFilesByIds(Collection<Long> ids) {
+        return checkLimit(articleRepository.findFileRefsByIds(ids, limit()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleFileRef> findFilesForSearch(String author, String topic, String keyword) {
+        return checkLimit(articleRepository.searchFileRefs(author, topic, keyword, limit()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleFileRef> findUserFiles(User user, String query) {
+        if (StringUtils.hasText(query)) {
+            return checkLimit(articleRepository.searchUserFileRefs(user, query.trim(), limit()));
+        }
+        return checkLimit(articleRepository.findFileRefsByUser(user, limit()));
+    }
+    
+    @Override
+    public int writeArchive(List<ArticleFileRef> files, OutputStream output) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(output, BUFFER_SIZE), StandardCharsets.UTF_8);
+        // Канал поверх архива не закрывается: закрытие закрыло бы и ответ
+        WritableByteChannel target = Channels.newChannel(zip);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        List<ArticleFileRef> missing = new ArrayList<>();
+        int written = 0;
+        
+        for (ArticleFileRef file : files) {
+            Path path = file.getPdfFilePath() != null ? Paths.get(file.getPdfFilePath()) : null;
+            if (path == null || !Files.isRegularFile(path)) {
+                missing.add(file);
+                continue;
+            }
+            
+            long size = StorageObservation.read(observationRegistry, path)
+                    .observeChecked(() -> writeEntry(zip, target, buffer, file, path));
+            storageMetrics.recordDownload(size);
+            written++;
+        }
+        
+        if (!missing.isEmpty()) {
+            writeMissingList(zip, missing);
+        }
+        zip.finish();
+        zip.flush();
+        
+        logger.info("Архив статей: записано файлов {}, отсутствует {}", written, missing.size());
+        return written;
+    }
+    
+    // Одна лишняя строка показывает, что лимит превышен
+    private Pageable limit() {
+        return PageRequest.of(0, maxFiles + 1);
+    }
+    
+    private List<ArticleFileRef> checkLimit(List<ArticleFileRef> files) {
+        if (files.size() > maxFiles) {
+            throw new IllegalArgumentException("Слишком много файлов для одного архива (максимум " + maxFiles + ")");
+        }
+        return files;
+    }
+    
+    private static long writeEntry(ZipOutputStream zip, WritableByteChannel target, ByteBuffer buffer,
+                                   ArticleFileRef file, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ZipEntry entry = new ZipEntry(entryName(file));
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(crc(channel, buffer));
+            entry.setLastModifiedTime(Files.getLastModifiedTime(path));
+            
+            zip.putNextEntry(entry);
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            zip.closeEntry();
+            return size;
+        }
+    }
+    
+    private static long crc(FileChannel channel, ByteBuffer buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        long position = 0;
+        buffer.clear();
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            buffer.flip();
+            crc.update(buffer);
+            buffer.clear();
+            position += read;
+        }
+        return crc.getValue();
+    }
+    
+    // id в имени различает статьи с одинаковыми именами файлов
+    private static String entryName(ArticleFileRef file) {
+        String name = StringUtils.hasText(file.getPdfFileName()) ? file.getPdfFileName() : "article.pdf";
+        return file.getId() + "_" + name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_");
+    }
+    
+    private static void writeMissingList(ZipOutputStream zip, List<ArticleFileRef> missing) throws IOException {
+        StringBuilder text = new StringBuilder("Файлы не найдены в хранилище:\r\n");
+        for (ArticleFileRef file : missing) {
+            text.append(file.getId()).append(": ").append(file.getPdfFileName()).append("\r\n");
+        }
+        ZipEntry entry = new ZipEntry(MISSING_ENTRY);
+        entry.setLastModifiedTime(FileTime.fromMillis(System.currentTimeMillis()));
+        zip.putNextEntry(entry);
+        zip.write(text.toString().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,66 @@
+package com.guap.articlecatalog.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.guap.articlecatalog.export.ArticleExportWriter;
+import com.guap.articlecatalog.export.ExportFormat;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.service.ArticleExportService;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+public class ArticleExportServiceImpl implements ArticleExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ArticleExportServiceImpl.class);
+    
+    // Совпадает с fetch size запроса: контекст очищается после каждой порции строк
+    static final int CLEAR_EVERY = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final ArticleRepository articleRepository;
+    private final EntityManager entityManager;
+    
+    public ArticleExportServiceImpl(ArticleRepository articleRepository, EntityManager entityManager) {
+        this.articleRepository = articleRepository;
+        this.entityManager = entityManager;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCatalog(ExportFormat format, OutputStream output) throws IOException {
+        ArticleExportWriter exportWriter = ArticleExportWriter.forFormat(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long count = 0;
+        
+        try (Stream<Article> articles = articleRepository.streamAllForExport()) {
+            exportWriter.begin(writer);
+            Iterator<Article> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                exportWriter.write(iterator.next(), writer);
+                if (++count % CLEAR_EVERY == 0) {
+                    // Уже выгруженные статьи не должны копиться в контексте персистентности
+                    entityManager.clear();
+                }
+            }
+            exportWriter.end(writer);
+        }
+        writer.flush();
+        
+        logger.info("Выгружено статей: {} (формат {})", count, format);
+        return count;
+    }
+}
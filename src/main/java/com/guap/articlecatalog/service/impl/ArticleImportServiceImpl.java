@@ -0,0 +1,486 @@
+package com.guap.articlecatalog.service.impl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.stereotype.Service;
+
+import com.guap.articlecatalog.importer.ImportEntryResult;
+import com.guap.articlecatalog.importer.ImportJob;
+import com.guap.articlecatalog.importer.ManifestEntry;
+import com.guap.articlecatalog.importer.ManifestParser;
+import com.guap.articlecatalog.importer.SizeLimitedInputStream;
+import com.guap.articlecatalog.metrics.StorageMetrics;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.service.ArticleImportService;
+import com.guap.articlecatalog.service.ArticleService;
+import com.guap.articlecatalog.tracing.StorageObservation;
+
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Импорт архива PDF с манифестом. Манифест загружается заранее отдельным запросом,
+ * архив читается потоком прямо из тела запроса в текущем потоке,
+ * хэширование, проверка и запись файлов идут на ограниченном пуле (или на виртуальных потоках),
+ * статьи сохраняются в БД порциями. Повторный запуск пропускает уже импортированные файлы
+ * (по SHA-256 содержимого), поэтому прерванный импорт можно просто запустить снова.
+ */
+@Service
+public class ArticleImportServiceImpl implements ArticleImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ArticleImportServiceImpl.class);
+    
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    private static final int MAX_TRACKED_JOBS = 100;
+    
+    private final ArticleService articleService;
+    private final ArticleRepository articleRepository;
+    private final StorageMetrics storageMetrics;
+    private final ObservationRegistry observationRegistry;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, StagedManifest> manifests = new ConcurrentHashMap<>();
+    
+    private AsyncTaskExecutor executor;
+    private ExecutorService platformPool;
+    
+    @Value("${app.upload.dir:./uploads}")
+    private String uploadDir;
+    
+    @Value("${app.max-file-size:10485760}")
+    private long maxFileSize;
+    
+    @Value("${app.import.threads:4}")
+    private int threads;
+    
+    // Сколько файлов одновременно держим в памяти (каждый не больше max-file-size)
+    @Value("${app.import.max-in-flight:8}")
+    private int maxInFlight;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    @Value("${app.import.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${app.import.max-archive-size:1073741824}")
+    private long maxArchiveSize = 1073741824L;
+    
+    public ArticleImportServiceImpl(ArticleService articleService, ArticleRepository articleRepository,
+                                    StorageMetrics storageMetrics, ObservationRegistry observationRegistry) {
+        this.articleService = articleService;
+        this.articleRepository = articleRepository;
+        this.storageMetrics = storageMetrics;
+        this.observationRegistry = observationRegistry;
+    }
+    
+    @PostConstruct
+    public void init() {
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            // Виртуальный поток на файл: параллелизм ограничивает только окно max-in-flight
+            executor = new VirtualThreadTaskExecutor("article-import-");
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        platformPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "article-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor = new TaskExecutorAdapter(platformPool);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+    }
+    
+    @Override
+    public ImportJob importArchive(User owner, InputStream archive, InputStream manifest,
+                                   String manifestFilename, String jobId) {
+        ImportJob job = registerJob(jobId, owner);
+        logger.info("Импорт {} запущен пользователем ID: {}", job.getId(), owner.getId());
+        
+        try {
+            Map<String, ManifestEntry> manifestEntries = ManifestParser.parse(manifest, manifestFilename);
+            Set<String> knownHashes = ConcurrentHashMap.newKeySet();
+            knownHashes.addAll(articleRepository.findContentHashesByUser(owner));
+            
+            Path uploadPath = Paths.get(uploadDir, "articles");
+            Files.createDirectories(uploadPath);
+            
+            Semaphore inFlight = new Semaphore(maxInFlight);
+            Deque<PendingEntry> pending = new ArrayDeque<>();
+            List<StoredEntry> batch = new ArrayList<>();
+            AtomicBoolean aborted = new AtomicBoolean();
+            
+            try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(
+                    new SizeLimitedInputStream(archive, maxArchiveSize)))) {
+                ZipEntry zipEntry;
+                while ((zipEntry = zip.getNextEntry()) != null) {
+                    if (zipEntry.isDirectory()) {
+                        continue;
+                    }
+                    String name = zipEntry.getName();
+                    ManifestEntry metadata = findManifestEntry(manifestEntries, name);
+                    if (metadata == null) {
+                        job.record(ImportEntryResult.skipped(name, "Файл не описан в манифесте"));
+                        continue;
+                    }
+                    
+                    byte[] content = readEntry(zip);
+                    if (content == null) {
+                        job.record(ImportEntryResult.failed(name, "Файл слишком большой (максимум " + formatSize(maxFileSize) + ")"));
+                        continue;
+                    }
+                    
+                    // Ограничиваем число файлов в памяти: чтение архива ждет освобождения места
+                    inFlight.acquire();
+                    Future<Object> future = executor.submit(() -> {
+                        try {
+                            return processEntry(name, metadata, content, owner, uploadPath, knownHashes, aborted);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                    pending.add(new PendingEntry(name, future));
+                    
+                    collectCompleted(pending, batch, job, knownHashes, false);
+                }
+                
+                collectCompleted(pending, batch, job, knownHashes, true);
+                saveBatch(batch, knownHashes);
+            } finally {
+                // Импорт оборвался: файлы из пула и несохранённой порции не должны остаться без статей
+                discardUnsaved(pending, batch, knownHashes, aborted);
+            }
+            job.complete();
+            
+        } catch (IllegalArgumentException e) {
+            job.fail(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Импорт прерван");
+        } catch (Exception e) {
+            logger.error("Ошибка при импорте архива", e);
+            job.fail("Ошибка при импорте архива: " + e.getMessage());
+        }
+        
+        logger.info("Импорт {} завершен: импортировано {}, пропущено {}, ошибок {}",
+                job.getId(), job.getImported(), job.getSkipped(), job.getFailed());
+        return job;
+    }
+    
+    @Override
+    public String stageManifest(User owner, InputStream manifest, String manifestFilename) throws IOException {
+        byte[] content = manifest.readAllBytes();
+        // Ошибки манифеста видны сразу, до отправки архива
+        ManifestParser.parse(new ByteArrayInputStream(content), manifestFilename);
+        
+        String id = UUID.randomUUID().toString();
+        manifests.put(id, new StagedManifest(owner.getId(), manifestFilename, content, LocalDateTime.now()));
+        evictStagedManifests();
+        return id;
+    }
+    
+    // Манифест остаётся после импорта: повтор с тем же jobId использует его же
+    @Override
+    public ImportJob importArchive(User owner, InputStream archive, String manifestId, String jobId) {
+        StagedManifest manifest = manifestId != null ? manifests.get(manifestId) : null;
+        if (manifest == null || !manifest.userId().equals(owner.getId())) {
+            throw new NoSuchElementException("Манифест импорта не найден");
+        }
+        return importArchive(owner, archive, new ByteArrayInputStream(manifest.content()),
+                manifest.filename(), jobId);
+    }
+    
+    @Override
+    public long getMaxArchiveSize() {
+        return maxArchiveSize;
+    }
+    
+    @Override
+    public Optional<ImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+    
+    private ImportJob registerJob(String jobId, User owner) {
+        String id = jobId != null && !jobId.isBlank() ? jobId.trim() : UUID.randomUUID().toString();
+        ImportJob job = new ImportJob(id, owner.getId());
+        
+        ImportJob previous = jobs.putIfAbsent(id, job);
+        if (previous != null) {
+            if (previous.isRunning() || !previous.getUserId().equals(owner.getId())) {
+                throw new IllegalArgumentException("Импорт с таким идентификатором уже существует");
+            }
+            jobs.put(id, job);
+        }
+        evictFinishedJobs();
+        return job;
+    }
+    
+    private void evictFinishedJobs() {
+        if (jobs.size() <= MAX_TRACKED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> !job.isRunning())
+                .sorted(Comparator.comparing(ImportJob::getStartedAt))
+                .limit(jobs.size() - MAX_TRACKED_JOBS)
+                .forEach(job -> jobs.remove(job.getId(), job));
+    }
+    
+    private void evictStagedManifests() {
+        if (manifests.size() <= MAX_TRACKED_JOBS) {
+            return;
+        }
+        manifests.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getValue().stagedAt()))
+                .limit(manifests.size() - MAX_TRACKED_JOBS)
+                .forEach(entry -> manifests.remove(entry.getKey(), entry.getValue()));
+    }
+    
+    private static ManifestEntry findManifestEntry(Map<String, ManifestEntry> entries, String name) {
+        ManifestEntry entry = entries.get(name);
+        if (entry == null) {
+            int slash = name.lastIndexOf('/');
+            if (slash >= 0) {
+                entry = entries.get(name.substring(slash + 1));
+            }
+        }
+        return entry;
+    }
+    
+    // null, если запись архива больше допустимого размера
+    private byte[] readEntry(ZipInputStream zip) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = zip.read(chunk)) != -1) {
+            if (buffer.size() + read > maxFileSize) {
+                return null;
+            }
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+    
+    // Выполняется в пуле: хэш, проверка, запись файла. Возвращает StoredEntry или ImportEntryResult
+    private Object processEntry(String name, ManifestEntry metadata, byte[] content, User owner,
+                                Path uploadPath, Set<String> knownHashes, AtomicBoolean aborted) throws IOException {
+        if (aborted.get()) {
+            return ImportEntryResult.failed(name, "Импорт прерван");
+        }
+        if (metadata.getTitle() == null || metadata.getTitle().isBlank()) {
+            return ImportEntryResult.failed(name, "Название статьи обязательно");
+        }
+        if (metadata.getAuthors() == null || metadata.getAuthors().isBlank()) {
+            return ImportEntryResult.failed(name, "Авторы обязательны");
+        }
+        if (!isPdf(content)) {
+            return ImportEntryResult.failed(name, "Файл должен быть в формате PDF");
+        }
+        
+        String hash = sha256(content);
+        if (!knownHashes.add(hash)) {
+            return ImportEntryResult.skipped(name, "Файл уже импортирован");
+        }
+        
+        // Имя из хэша: файл, записанный прерванным запуском (например, при падении JVM до сохранения
+        // статьи), повторный запуск перезапишет, а не оставит рядом копию без статьи
+        Path filePath = uploadPath.resolve("import_" + owner.getId() + "_" + hash + ".pdf");
+        try {
+            StorageObservation.write(observationRegistry, filePath)
+                    .observeChecked(() -> Files.write(filePath, content));
+            storageMetrics.recordUpload(content.length);
+        } catch (IOException e) {
+            knownHashes.remove(hash);
+            throw e;
+        }
+        
+        int slash = name.lastIndexOf('/');
+        Article article = new Article();
+        article.setTitle(metadata.getTitle().trim());
+        article.setAuthors(metadata.getAuthors().trim());
+        article.setPublicationYear(metadata.getPublicationYear());
+        article.setKeywords(metadata.getKeywords());
+        article.setTopic(metadata.getTopic());
+        article.setUser(owner);
+        article.setPdfFileName(slash >= 0 ? name.substring(slash + 1) : name);
+        article.setPdfFilePath(filePath.toString());
+        article.setFileSize((long) content.length);
+        article.setContentHash(hash);
+        
+        return new StoredEntry(ImportEntryResult.imported(name), article, filePath);
+    }
+    
+    // Результаты забираются в порядке архива, чтобы статьи сохранялись в том же порядке
+    private void collectCompleted(Deque<PendingEntry> pending, List<StoredEntry> batch, ImportJob job,
+                                  Set<String> knownHashes, boolean waitForAll) throws InterruptedException {
+        while (!pending.isEmpty() && (waitForAll || pending.peek().future().isDone())) {
+            PendingEntry entry = pending.poll();
+            try {
+                Object outcome = entry.future().get();
+                if (outcome instanceof StoredEntry stored) {
+                    job.record(stored.result());
+                    batch.add(stored);
+                    if (batch.size() >= batchSize) {
+                        saveBatch(batch, knownHashes);
+                    }
+                } else {
+                    job.record((ImportEntryResult) outcome);
+                }
+            } catch (ExecutionException e) {
+                logger.warn("Ошибка обработки файла {} из архива: {}", entry.name(), e.getCause().getMessage());
+                job.record(ImportEntryResult.failed(entry.name(), "Ошибка при сохранении файла"));
+            }
+        }
+    }
+    
+    private void saveBatch(List<StoredEntry> batch, Set<String> knownHashes) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            articleService.saveAll(batch.stream().map(StoredEntry::article).toList());
+            for (StoredEntry stored : batch) {
+                stored.result().setArticleId(stored.article().getId());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Ошибка при сохранении порции статей", e);
+            discardFiles(batch, knownHashes, "Ошибка при сохранении статьи");
+        }
+        batch.clear();
+    }
+    
+    // Новые записи в пул не попадают, уже начатые дописываются и удаляются вместе с порцией
+    private void discardUnsaved(Deque<PendingEntry> pending, List<StoredEntry> batch, Set<String> knownHashes,
+                                AtomicBoolean aborted) {
+        if (pending.isEmpty() && batch.isEmpty()) {
+            return;
+        }
+        aborted.set(true);
+        for (PendingEntry entry : pending) {
+            if (awaitQuietly(entry.future()) instanceof StoredEntry stored) {
+                batch.add(stored);
+            }
+        }
+        pending.clear();
+        discardFiles(batch, knownHashes, "Импорт прерван до сохранения статьи");
+        batch.clear();
+    }
+    
+    // Статьи не сохранены: убираем записанные файлы, чтобы повторный импорт их подхватил
+    private void discardFiles(List<StoredEntry> entries, Set<String> knownHashes, String message) {
+        for (StoredEntry stored : entries) {
+            stored.result().markFailed(message);
+            knownHashes.remove(stored.article().getContentHash());
+            // Тот же файл мог сохранить параллельный импорт этого же пользователя
+            if (articleRepository.existsByPdfFilePath(stored.filePath().toString())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(stored.filePath());
+            } catch (IOException ex) {
+                logger.warn("Не удалось удалить файл {}: {}", stored.filePath(), ex.getMessage());
+            }
+        }
+    }
+    
+    // Ждёт задачу и при прерывании потока, иначе её файл записался бы уже после очистки
+    private static Object awaitQuietly(Future<Object> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    return null;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private static String formatSize(long bytes) {
+        long megabyte = 1024 * 1024;
+        return bytes % megabyte == 0 ? bytes / megabyte + " MB" : bytes + " байт";
+    }
+    
+    private static boolean isPdf(byte[] content) {
+        if (content.length < PDF_MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < PDF_MAGIC.length; i++) {
+            if (content[i] != PDF_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private record PendingEntry(String name, Future<Object> future) {
+    }
+    
+    private record StoredEntry(ImportEntryResult result, Article article, Path filePath) {
+    }
+    
+    private record StagedManifest(Long userId, String filename, byte[] content, LocalDateTime stagedAt) {
+    }
+}
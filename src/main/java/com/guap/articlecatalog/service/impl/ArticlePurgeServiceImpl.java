@@ -0,0 +1,147 @@
+package com.guap.articlecatalog.service.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.ArticleTombstone;
+import com.guap.articlecatalog.service.ArticlePurgeService;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+public class ArticlePurgeServiceImpl implements ArticlePurgeService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ArticlePurgeServiceImpl.class);
+    
+    // Удалённые статьи скрыты @SQLRestriction, поэтому выборка и удаление - нативным SQL.
+    // Кандидаты берутся из очереди article_tombstones по индексу deleted_at, её строки
+    // удаляются каскадно вместе со статьями
+    private static final String SELECT_EXPIRED =
+            "SELECT t.article_id FROM article_tombstones t WHERE t.deleted_at < :cutoff ORDER BY t.deleted_at";
+    // Блокировка строк до конца транзакции: восстановление, начатое после выборки,
+    // дождётся удаления, а уже восстановленные статьи под условие не попадут
+    private static final String LOCK_EXPIRED =
+            "SELECT id, pdf_file_path FROM articles WHERE id IN (:ids) " +
+            "AND deleted_at IS NOT NULL AND deleted_at < :cutoff FOR UPDATE";
+    private static final String DELETE_BATCH =
+            "DELETE FROM articles WHERE id IN (:ids)";
+    // Отметки статей, восстановленных между выборкой и блокировкой, иначе они вернутся в очередь
+    private static final String DELETE_STALE_TOMBSTONES =
+            "DELETE FROM article_tombstones t WHERE t.article_id IN (:ids) AND NOT EXISTS " +
+            "(SELECT 1 FROM articles a WHERE a.id = t.article_id AND a.deleted_at IS NOT NULL)";
+    
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${app.purge.undo-window-ms:600000}")
+    private long undoWindowMs = 600000;
+    
+    @Value("${app.purge.batch-size:100}")
+    private int batchSize = 100;
+    
+    public ArticlePurgeServiceImpl(EntityManager entityManager, TransactionTemplate transactionTemplate) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.purge.interval-ms:60000}")
+    public void scheduledPurge() {
+        purgeExpired();
+    }
+    
+    @Override
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(undoWindowMs));
+        int purged = 0;
+        
+        List<Long> batch;
+        do {
+            batch = findExpired(cutoff);
+            if (batch.isEmpty()) {
+                break;
+            }
+            
+            // Сначала строки, затем файлы и только удалённых строк: файл восстановленной статьи не трогается
+            List<Object[]> deleted = deleteRows(batch, cutoff);
+            for (Object[] row : deleted) {
+                deleteFile((String) row[1]);
+            }
+            purged += deleted.size();
+        } while (batch.size() == batchSize);
+        
+        if (purged > 0) {
+            logger.info("Окончательно удалено статей: {}", purged);
+        }
+        return purged;
+    }
+    
+    private List<Long> findExpired(LocalDateTime cutoff) {
+        List<?> rows = transactionTemplate.execute(status -> entityManager.createNativeQuery(SELECT_EXPIRED)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(batchSize)
+                .getResultList());
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            ids.add(((Number) row).longValue());
+        }
+        return ids;
+    }
+    
+    // Возвращает id и пути файлов статей, строки которых действительно удалены
+    @SuppressWarnings("unchecked")
+    private List<Object[]> deleteRows(List<Long> candidates, LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> locked = entityManager.createNativeQuery(LOCK_EXPIRED)
+                    .setParameter("ids", candidates)
+                    .setParameter("cutoff", cutoff)
+                    .getResultList();
+            if (locked.size() < candidates.size()) {
+                entityManager.createNativeQuery(DELETE_STALE_TOMBSTONES)
+                        .unwrap(NativeQuery.class)
+                        .addSynchronizedEntityClass(ArticleTombstone.class)
+                        .setParameterList("ids", candidates)
+                        .executeUpdate();
+            }
+            if (locked.isEmpty()) {
+                return locked;
+            }
+            
+            List<Long> ids = new ArrayList<>(locked.size());
+            for (Object[] row : locked) {
+                ids.add(((Number) row[0]).longValue());
+            }
+            // Синхронизация с Article: сбрасывается только его регион кэша, а не весь кэш второго уровня
+            entityManager.createNativeQuery(DELETE_BATCH)
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(Article.class)
+                    .setParameterList("ids", ids)
+                    .executeUpdate();
+            return locked;
+        });
+    }
+    
+    private void deleteFile(String path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(path));
+        } catch (IOException e) {
+            logger.warn("Не удалось удалить файл удалённой статьи {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.guap.articlecatalog.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.guap.articlecatalog.dto.ArticleSummary;
+import com.guap.articlecatalog.dto.SearchStreamRequest;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.service.ArticleSearchStreamService;
+
+/**
+ * Потоковый поиск. Строки курсора сразу сериализуются в ответ: в памяти только буфер вывода
+ * и порция строк драйвера. Запись в ответ блокируется, пока клиент не прочитает предыдущие
+ * данные, и вместе с ней приостанавливается чтение курсора - медленный клиент не накапливает
+ * результаты на сервере.
+ */
+@Service
+public class ArticleSearchStreamServiceImpl implements ArticleSearchStreamService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ArticleSearchStreamServiceImpl.class);
+    
+    // Клиент получает результаты порциями, не дожидаясь заполнения буфера
+    static final int FLUSH_EVERY = 100;
+    private static final int BUFFER_SIZE = 16 * 1024;
+    
+    private final ArticleRepository articleRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.search.stream.max-rows:100000}")
+    private long maxRowsLimit = 100000;
+    
+    @Value("${app.search.stream.time-budget-ms:30000}")
+    private long timeBudgetLimitMs = 30000;
+    
+    public ArticleSearchStreamServiceImpl(ArticleRepository articleRepository, ObjectMapper objectMapper) {
+        this.articleRepository = articleRepository;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long streamSearch(SearchStreamRequest request, FilterProvider fields, OutputStream output) throws IOException {
+        long maxRows = withinLimit(request.getMaxRows(), maxRowsLimit);
+        long deadline = System.nanoTime() + withinLimit(request.getTimeBudgetMs(), timeBudgetLimitMs) * 1_000_000;
+        ObjectWriter writer = objectMapper.writer(fields).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        String stopReason = null;
+        long count = 0;
+        
+        try (Stream<ArticleSummary> summaries = articleRepository.streamArticleSummaries(
+                     request.getAuthor(), request.getTopic(), request.getKeyword());
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(
+                     new BufferedOutputStream(output, BUFFER_SIZE), JsonEncoding.UTF8)) {
+            // Каждый объект верхнего уровня - отдельная строка
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            
+            Iterator<ArticleSummary> iterator = summaries.iterator();
+            while (iterator.hasNext()) {
+                if (count >= maxRows) {
+                    stopReason = "rows";
+                    break;
+                }
+                if (System.nanoTime() - deadline > 0) {
+                    stopReason = "time";
+                    break;
+                }
+                writer.writeValue(generator, iterator.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            
+            // Последняя строка сообщает клиенту, что результаты неполные
+            if (stopReason != null) {
+                generator.writeStartObject();
+                generator.writeBooleanField("truncated", true);
+                generator.writeStringField("reason", stopReason);
+                generator.writeNumberField("count", count);
+                generator.writeEndObject();
+            }
+            generator.writeRaw('\n');
+        }
+        
+        logger.debug("Потоковый поиск: отдано статей {}{}", count,
+                stopReason != null ? ", остановлен по бюджету (" + stopReason + ")" : "");
+        return count;
+    }
+    
+    // Запрошенный бюджет не может превышать предел из настроек
+    private static long withinLimit(Long requested, long limit) {
+        if (requested == null || requested <= 0) {
+            return limit;
+        }
+        return Math.min(requested, limit);
+    }
+}
@@ -4,36 +4,87 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.guap.articlecatalog.cache.Coalesced;
+import com.guap.articlecatalog.cache.TopicRegistry;
+import com.guap.articlecatalog.dto.ArticleSummary;
+import com.guap.articlecatalog.dto.CursorPage;
+import com.guap.articlecatalog.dto.KeysetCursor;
+import com.guap.articlecatalog.event.ArticleChangedEvent;
+import com.guap.articlecatalog.event.ArticleCountsChangedEvent;
+import com.guap.articlecatalog.metrics.StorageMetrics;
 import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.ArticleTombstone;
 import com.guap.articlecatalog.model.User;
 import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.repository.ArticleTombstoneRepository;
 import com.guap.articlecatalog.service.ArticleService;
+import com.guap.articlecatalog.stats.CatalogStatistics;
+import com.guap.articlecatalog.tracing.StorageObservation;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 
 @Service
 @Transactional
+@Observed(name = "catalog.service")
 public class ArticleServiceImpl implements ArticleService {
     
     private static final Logger logger = LoggerFactory.getLogger(ArticleServiceImpl.class);
     
     private final ArticleRepository articleRepository;
+    private final TopicRegistry topicRegistry;
+    private final CatalogStatistics catalogStatistics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ArticleTombstoneRepository tombstoneRepository;
+    private final StorageMetrics storageMetrics;
+    private final ObservationRegistry observationRegistry;
     
     @Value("${app.upload.dir:./uploads}")
     private String uploadDir;
     
-    public ArticleServiceImpl(ArticleRepository articleRepository) {
+    // Совпадает с hibernate.jdbc.batch_size, чтобы каждая порция уходила одним пакетом
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+    
+    // Сколько удалённая статья ждёт очистки и может быть восстановлена
+    @Value("${app.purge.undo-window-ms:600000}")
+    private long undoWindowMs = 600000;
+    
+    public ArticleServiceImpl(ArticleRepository articleRepository,
+                              TopicRegistry topicRegistry,
+                              CatalogStatistics catalogStatistics,
+                              ApplicationEventPublisher eventPublisher,
+                              EntityManager entityManager,
+                              ArticleTombstoneRepository tombstoneRepository,
+                              StorageMetrics storageMetrics,
+                              ObservationRegistry observationRegistry) {
         this.articleRepository = articleRepository;
+        this.topicRegistry = topicRegistry;
+        this.catalogStatistics = catalogStatistics;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.tombstoneRepository = tombstoneRepository;
+        this.storageMetrics = storageMetrics;
+        this.observationRegistry = observationRegistry;
     }
     
     private Path getUploadPath() {
@@ -50,14 +101,8 @@ public class ArticleServiceImpl implements ArticleService {
     @Override
     public Article saveArticle(Article article, User user, MultipartFile pdfFile) {
         try {
-            logger.debug("=== DEBUG: saveArticle called ===");
-            logger.debug("Article title: {}", article.getTitle());
-            logger.debug("User: {}", user.getUsername());
-            logger.debug("PDF file: {}", pdfFile.getOriginalFilename());
-            logger.debug("PDF size: {}", pdfFile.getSize());
-            
-            // Проверка файла (MultipartFile всегда не-null в Spring MVC)
-            if (pdfFile.isEmpty()) {
+            // Проверка файла до любого обращения к нему
+            if (pdfFile == null || pdfFile.isEmpty()) {
                 throw new IllegalArgumentException("PDF файл не может быть пустым");
             }
             
@@ -69,7 +114,6 @@ public class ArticleServiceImpl implements ArticleService {
             
             // Проверка типа
             String contentType = pdfFile.getContentType();
-            logger.debug("Content type: {}", contentType);
             
             if (contentType == null || !contentType.equals("application/pdf")) {
                 throw new IllegalArgumentException("Файл должен быть в формате PDF. Получен: " + contentType);
@@ -85,7 +129,7 @@ public class ArticleServiceImpl implements ArticleService {
             Path uploadDir = getUploadPath();
             if (!Files.exists(uploadDir)) {
                 Files.createDirectories(uploadDir);
-                logger.debug("Created directory: {}", uploadDir.toAbsolutePath());
+                logger.debug("Создан каталог: {}", uploadDir);
             }
             
             // Генерируем уникальное имя файла безопасно
@@ -101,8 +145,9 @@ public class ArticleServiceImpl implements ArticleService {
             Path filePath = uploadDir.resolve(uniqueFilename);
             
             // Сохраняем файл
-            Files.write(filePath, pdfFile.getBytes());
-            logger.debug("File saved to: {}", filePath.toAbsolutePath());
+            StorageObservation.write(observationRegistry, filePath)
+                    .observeChecked(() -> Files.write(filePath, pdfFile.getBytes()));
+            storageMetrics.recordUpload(pdfFile.getSize());
             
             // Устанавливаем свойства статьи
             article.setUser(user);
@@ -112,7 +157,8 @@ public class ArticleServiceImpl implements ArticleService {
             
             // Сохраняем в базу
             Article savedArticle = articleRepository.save(article);
-            logger.debug("Article saved to DB with ID: {}", savedArticle.getId());
+            logger.debug("Статья сохранена, ID: {}, файл {}", savedArticle.getId(), filePath);
+            eventPublisher.publishEvent(ArticleChangedEvent.created(savedArticle));
             
             return savedArticle;
             
@@ -129,19 +175,48 @@ public class ArticleServiceImpl implements ArticleService {
     }
     
     @Override
+    public int saveAll(Iterable<Article> articles) {
+        int count = 0;
+        // Одно событие на вызов: слушатели применяют сводные изменения после коммита
+        ArticleCountsChangedEvent.Builder counts = new ArticleCountsChangedEvent.Builder();
+        for (Article article : articles) {
+            articleRepository.save(article);
+            counts.created(article);
+            
+            // Сбрасываем порцию в БД и очищаем контекст, чтобы память не росла
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        if (!counts.isEmpty()) {
+            eventPublisher.publishEvent(counts.build());
+        }
+        
+        logger.info("Пакетно сохранено статей: {}", count);
+        return count;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public Page<Article> getUserArticles(User user, Pageable pageable) {
         return articleRepository.findByUser(user, pageable);
     }
     
     @Override
     public Article getArticleById(Long id) {
+        // Проверка deletedAt нужна для статей, взятых из кэша второго уровня в обход @SQLRestriction
         return articleRepository.findById(id)
+                .filter(article -> article.getDeletedAt() == null)
                 .orElseThrow(() -> new IllegalArgumentException("Статья не найдена"));
     }
     
     @Override
     public Article updateArticle(Long id, Article articleDetails, MultipartFile pdfFile) {
         Article article = getArticleById(id);
+        String oldTopic = article.getTopic();
         
         // Обновление полей
         if (articleDetails.getTitle() != null && !articleDetails.getTitle().trim().isEmpty()) {
@@ -189,7 +264,9 @@ public class ArticleServiceImpl implements ArticleService {
                 
                 String uniqueFileName = UUID.randomUUID() + fileExtension;
                 Path filePath = getUploadPath().resolve(uniqueFileName);
-                Files.write(filePath, pdfFile.getBytes());
+                StorageObservation.write(observationRegistry, filePath)
+                        .observeChecked(() -> Files.write(filePath, pdfFile.getBytes()));
+                storageMetrics.recordUpload(pdfFile.getSize());
                 
                 article.setPdfFileName(originalFilename);
                 article.setPdfFilePath(filePath.toString());
@@ -200,7 +277,9 @@ public class ArticleServiceImpl implements ArticleService {
             }
         }
         
-        return articleRepository.save(article);
+        Article savedArticle = articleRepository.save(article);
+        eventPublisher.publishEvent(ArticleChangedEvent.updated(savedArticle, oldTopic));
+        return savedArticle;
     }
     
     @Override
@@ -212,37 +291,109 @@ public class ArticleServiceImpl implements ArticleService {
             throw new IllegalArgumentException("Вы не можете удалить чужую статью");
         }
         
-        // Удаление файла (если существует)
-        if (article.getPdfFilePath() != null) {
-            try {
-                Path filePath = Paths.get(article.getPdfFilePath());
-                if (Files.exists(filePath)) {
-                    Files.deleteIfExists(filePath);
-                }
-            } catch (IOException e) {
-                logger.warn("Не удалось удалить файл статьи: {}", e.getMessage());
-            }
+        // Только отметка об удалении: файл и строку удалит ArticlePurgeService после окна отмены
+        article.setDeletedAt(LocalDateTime.now());
+        articleRepository.save(article);
+        tombstoneRepository.save(new ArticleTombstone(article.getId(), article.getDeletedAt()));
+        eventPublisher.publishEvent(ArticleChangedEvent.deleted(article));
+        
+        logger.info("Статья удалена: {} (ID: {}) пользователем {}", 
+                   article.getTitle(), id, user.getUsername());
+    }
+    
+    @Override
+    public Article restoreArticle(Long id, User user) {
+        Article article = articleRepository.findDeletedById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Статья не найдена"));
+        
+        if (!article.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("Вы не можете восстановить чужую статью");
+        }
+        if (article.getDeletedAt().isBefore(LocalDateTime.now().minus(Duration.ofMillis(undoWindowMs)))) {
+            throw new IllegalArgumentException("Срок отмены удаления истёк");
         }
         
-        articleRepository.delete(article);
+        article.setDeletedAt(null);
+        Article restoredArticle = articleRepository.save(article);
+        tombstoneRepository.deleteById(id);
+        // Для реестра тем и счётчиков восстановленная статья - снова добавленная
+        eventPublisher.publishEvent(ArticleChangedEvent.created(restoredArticle));
         
-        logger.info("Статья удалена: {} (ID: {}) пользователем {}", 
+        logger.info("Статья восстановлена: {} (ID: {}) пользователем {}",
                    article.getTitle(), id, user.getUsername());
+        return restoredArticle;
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Page<Article> searchArticles(String author, String topic, String keyword, Pageable pageable) {
         return articleRepository.searchArticles(author, topic, keyword, pageable);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Page<Article> searchUserArticles(User user, String query, Pageable pageable) {
         return articleRepository.searchUserArticles(user, query, pageable);
     }
     
+    // Одинаковые одновременные поиски (например, по теме задания) выполняются одним запросом
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public Page<ArticleSummary> searchArticleSummaries(String author, String topic, String keyword, Pageable pageable) {
+        // Выбор одной темы - отдельный запрос: условие с OR по параметрам не даёт использовать индекс темы
+        if (StringUtils.hasText(topic) && !StringUtils.hasText(author) && !StringUtils.hasText(keyword)) {
+            return articleRepository.findSummariesByTopic(topic, pageable);
+        }
+        return articleRepository.searchArticleSummaries(author, topic, keyword, pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ArticleSummary> getUserArticleSummaries(User user, Pageable pageable) {
+        return articleRepository.findSummariesByUser(user, pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ArticleSummary> searchUserArticleSummaries(User user, String query, Pageable pageable) {
+        return articleRepository.searchUserArticleSummaries(user, query, pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleSummary> scrollArticleSummaries(String topic, String cursor, int size) {
+        // Лишняя строка показывает, есть ли следующая страница
+        Pageable limit = PageRequest.of(0, size + 1);
+        KeysetCursor after = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        if (after != null && after.getUploadDate() == null) {
+            throw new IllegalArgumentException("Некорректный курсор: " + cursor);
+        }
+        
+        List<ArticleSummary> rows;
+        if (StringUtils.hasText(topic)) {
+            rows = after == null
+                    ? articleRepository.findSummariesByTopicFirst(topic, limit)
+                    : articleRepository.findSummariesByTopicAfter(topic, after.getUploadDate(), after.getId(), limit);
+        } else {
+            rows = after == null
+                    ? articleRepository.findSummariesFirst(limit)
+                    : articleRepository.findSummariesAfter(after.getUploadDate(), after.getId(), limit);
+        }
+        return CursorPage.of(rows, size, KeysetCursor::after);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ArticleSummary getArticleSummary(Long id) {
+        return articleRepository.findSummaryById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Статья не найдена"));
+    }
+    
     @Override
+    @Transactional(readOnly = true)
     public List<String> getAllTopics() {
-        return articleRepository.findAllTopics();
+        return topicRegistry.getTopics();
     }
     
     @Override
@@ -258,19 +409,24 @@ public class ArticleServiceImpl implements ArticleService {
             if (!Files.exists(filePath)) {
                 throw new IllegalArgumentException("Файл не существует: " + filePath);
             }
-            return Files.readAllBytes(filePath);
+            byte[] content = StorageObservation.read(observationRegistry, filePath)
+                    .observeChecked(() -> Files.readAllBytes(filePath));
+            storageMetrics.recordDownload(content.length);
+            return content;
         } catch (IOException e) {
             throw new RuntimeException("Ошибка при чтении файла", e);
         }
     }
     
     @Override
+    @Transactional(readOnly = true)
     public long getTotalArticlesCount() {
-        return articleRepository.count();
+        return catalogStatistics.getTotalArticles();
     }
     
     @Override
+    @Transactional(readOnly = true)
     public long getUserArticlesCount(User user) {
-        return articleRepository.countByUser(user);
+        return catalogStatistics.getUserArticles(user.getId());
     }
 }
\ No newline at end of file
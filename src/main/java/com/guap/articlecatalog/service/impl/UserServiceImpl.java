@@ -11,33 +11,55 @@ import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.guap.articlecatalog.dto.CursorPage;
+import com.guap.articlecatalog.dto.KeysetCursor;
+import com.guap.articlecatalog.dto.UserSummary;
+import com.guap.articlecatalog.metrics.StorageMetrics;
 import com.guap.articlecatalog.model.User;
 import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.PrincipalFactory;
 import com.guap.articlecatalog.service.UserService;
+import com.guap.articlecatalog.tracing.StorageObservation;
 
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.annotation.PostConstruct;
 
 @Service
 @Transactional
+@Observed(name = "catalog.service")
 public class UserServiceImpl implements UserService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
     
+    // BCrypt-хэш пароля password123, посчитанный заранее: кодирование не задерживает каждый старт
+    private static final String TEST_USER_PASSWORD_HASH = "$2a$10$amHhxU9qv41ZXl9ALFnBWOQZQ7H619mOUAwTQUGpQbFlfzaNSA5pa";
+    
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StorageMetrics storageMetrics;
+    private final ObservationRegistry observationRegistry;
+    private final PrincipalFactory principalFactory;
     
     // PasswordEncoder будет автоматически внедрен из SecurityConfig
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           StorageMetrics storageMetrics, ObservationRegistry observationRegistry,
+                           PrincipalFactory principalFactory) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.storageMetrics = storageMetrics;
+        this.observationRegistry = observationRegistry;
+        this.principalFactory = principalFactory;
     }
     
     @PostConstruct
@@ -47,7 +69,7 @@ public class UserServiceImpl implements UserService {
                 User testUser = new User();
                 testUser.setUsername("testuser");
                 testUser.setEmail("test@example.com");
-                testUser.setPassword(passwordEncoder.encode("password123"));
+                testUser.setPassword(TEST_USER_PASSWORD_HASH);
                 testUser.setFullName("Тестовый Пользователь");
                 testUser.getRoles().add("USER");
                 
@@ -66,15 +88,8 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Пользователь не найден: " + username));
         
-        List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
-                .map(SimpleGrantedAuthority::new)
-                .toList();
-        
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                authorities
-        );
+        // Снимок пользователя остается в сессии и избавляет от поиска на каждый запрос
+        return principalFactory.create(user);
     }
     
 
@@ -114,6 +129,7 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
@@ -171,7 +187,9 @@ public class UserServiceImpl implements UserService {
             String uniqueFileName = "avatar_" + userId + "_" + UUID.randomUUID() + fileExtension;
             
             Path filePath = avatarDir.resolve(uniqueFileName);
-            Files.write(filePath, avatarFile.getBytes());
+            StorageObservation.write(observationRegistry, filePath)
+                    .observeChecked(() -> Files.write(filePath, avatarFile.getBytes()));
+            storageMetrics.recordUpload(avatarFile.getSize());
             
             user.setAvatarPath("/uploads/avatars/" + uniqueFileName);
             userRepository.save(user);
@@ -190,10 +208,43 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public List<User> searchUsers(String query) {
         if (query == null || query.trim().isEmpty()) {
             return userRepository.findAll();
         }
         return userRepository.searchUsers(query.trim());
     }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> scrollUserSummaries(String query, String cursor, int size) {
+        Long afterId = 0L;
+        if (StringUtils.hasText(cursor)) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            if (after.getUploadDate() != null) {
+                throw new IllegalArgumentException("Некорректный курсор: " + cursor);
+            }
+            afterId = after.getId();
+        }
+        
+        // Лишняя строка показывает, есть ли следующая страница
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<UserSummary> rows = StringUtils.hasText(query)
+                ? userRepository.searchSummariesAfter(query.trim(), afterId, limit)
+                : userRepository.findSummariesAfter(afterId, limit);
+        return CursorPage.of(rows, size, KeysetCursor::after);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public UserSummary getUserSummary(Long id) {
+        return userRepository.findSummaryById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Пользователь не найден"));
+    }
 }
\ No newline at end of file
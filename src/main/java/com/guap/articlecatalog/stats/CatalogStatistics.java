@@ -0,0 +1,148 @@
+package com.guap.articlecatalog.stats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.guap.articlecatalog.event.ArticleChangedEvent;
+import com.guap.articlecatalog.event.ArticleCountsChangedEvent;
+import com.guap.articlecatalog.repository.ArticleRepository;
+
+/**
+ * Счетчики каталога в памяти: всего статей, статей пользователя и статей по теме.
+ * Обновляются событиями статей и периодически сверяются с БД.
+ */
+@Component
+public class CatalogStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogStatistics.class);
+
+    private final ArticleRepository articleRepository;
+
+    private final LongAdder totalArticles = new LongAdder();
+    private final ConcurrentMap<Long, LongAdder> articlesByUser = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> articlesByTopic = new ConcurrentHashMap<>();
+
+    public CatalogStatistics(ArticleRepository articleRepository) {
+        this.articleRepository = articleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        reconcile();
+    }
+
+    // События, пришедшие во время сверки, могут быть учтены дважды или потеряны;
+    // следующая сверка это исправит
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long total = articleRepository.count();
+        Map<Long, Long> byUser = toMap(articleRepository.countArticlesByUser());
+        Map<String, Long> byTopic = toMap(articleRepository.countArticlesByTopic());
+
+        reset(totalArticles, total);
+        reconcileCounters(articlesByUser, byUser);
+        reconcileCounters(articlesByTopic, byTopic);
+
+        logger.debug("Статистика каталога сверена с БД: {} статей", total);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> {
+                totalArticles.increment();
+                add(articlesByUser, event.getUserId(), 1);
+                add(articlesByTopic, event.getNewTopic(), 1);
+            }
+            case DELETED -> {
+                totalArticles.decrement();
+                add(articlesByUser, event.getUserId(), -1);
+                add(articlesByTopic, event.getOldTopic(), -1);
+            }
+            case UPDATED -> {
+                if (!Objects.equals(event.getOldTopic(), event.getNewTopic())) {
+                    add(articlesByTopic, event.getOldTopic(), -1);
+                    add(articlesByTopic, event.getNewTopic(), 1);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArticleCountsChanged(ArticleCountsChangedEvent event) {
+        totalArticles.add(event.getTotalDelta());
+        event.getUserDeltas().forEach((userId, delta) -> add(articlesByUser, userId, delta));
+        event.getTopicDeltas().forEach((topic, delta) -> add(articlesByTopic, topic, delta));
+    }
+
+    public long getTotalArticles() {
+        return totalArticles.sum();
+    }
+
+    public long getUserArticles(Long userId) {
+        LongAdder adder = userId != null ? articlesByUser.get(userId) : null;
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public Map<String, Long> getArticlesByTopic() {
+        Map<String, Long> result = new TreeMap<>();
+        articlesByTopic.forEach((topic, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                result.put(topic, count);
+            }
+        });
+        return result;
+    }
+
+    public int getActiveUsersCount() {
+        int count = 0;
+        for (LongAdder adder : articlesByUser.values()) {
+            if (adder.sum() > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static <K> void add(ConcurrentMap<K, LongAdder> counters, K key, long delta) {
+        if (key == null || "".equals(key)) {
+            return;
+        }
+        counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    private static <K> void reconcileCounters(ConcurrentMap<K, LongAdder> counters, Map<K, Long> actual) {
+        counters.keySet().removeIf(key -> !actual.containsKey(key));
+        actual.forEach((key, value) -> reset(counters.computeIfAbsent(key, k -> new LongAdder()), value));
+    }
+
+    private static void reset(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> Map<K, Long> toMap(Iterable<Object[]> rows) {
+        Map<K, Long> result = new HashMap<>();
+        for (Object[] row : rows) {
+            result.put((K) row[0], ((Number) row[1]).longValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package com.guap.articlecatalog.stats;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.guap.articlecatalog.metrics.StatementCounter;
+
+/**
+ * Запросы с лишними SQL-операторами: больше max-statements за запрос или один оператор
+ * повторён не меньше n-plus-one-threshold раз. Такие запросы пишутся в лог одной строкой
+ * и копятся по маршрутам; остальные запросы ничего не стоят, кроме сравнения двух чисел.
+ */
+@Component
+public class SqlStatementStatistics {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementStatistics.class);
+    
+    private static final int MAX_SQL_LENGTH = 300;
+    
+    private final Map<String, Offender> offenders = new ConcurrentHashMap<>();
+    private final AtomicLong flaggedRequests = new AtomicLong();
+    
+    @Value("${app.sql.max-statements:30}")
+    private int maxStatements = 30;
+    
+    @Value("${app.sql.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold = 10;
+    
+    // Маршруты ограничены приложением, но UNKNOWN и ошибочные пути не должны раздувать карту
+    @Value("${app.sql.max-offenders:200}")
+    private int maxOffenders = 200;
+    
+    @Value("${app.sql.top:20}")
+    private int top = 20;
+    
+    public void record(String method, String uri, StatementCounter.Statements statements) {
+        boolean nPlusOne = statements.getMaxRepeats() >= nPlusOneThreshold;
+        if (statements.getTotal() <= maxStatements && !nPlusOne) {
+            return;
+        }
+        flaggedRequests.incrementAndGet();
+        
+        if (nPlusOne) {
+            logger.warn("Возможен N+1: {} {} - {} SQL-операторов, повторён {} раз: {}", method, uri,
+                    statements.getTotal(), statements.getMaxRepeats(), abbreviate(statements.getMostRepeated()));
+        } else {
+            logger.warn("Много SQL-операторов: {} {} - {}", method, uri, statements.getTotal());
+        }
+        
+        String route = method + " " + uri;
+        Offender offender = offenders.get(route);
+        if (offender == null) {
+            if (offenders.size() >= maxOffenders) {
+                return;
+            }
+            offender = offenders.computeIfAbsent(route, Offender::new);
+        }
+        offender.record(statements, nPlusOne);
+    }
+    
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("maxStatements", maxStatements);
+        result.put("nPlusOneThreshold", nPlusOneThreshold);
+        result.put("flaggedRequests", flaggedRequests.get());
+        
+        List<Map<String, Object>> topOffenders = offenders.values().stream()
+                .sorted(Comparator.comparingLong(Offender::getRequests).reversed())
+                .limit(top)
+                .map(Offender::toMap)
+                .toList();
+        result.put("offenders", topOffenders);
+        return result;
+    }
+    
+    public void reset() {
+        offenders.clear();
+        flaggedRequests.set(0);
+    }
+    
+    private static String abbreviate(String sql) {
+        if (sql == null || sql.length() <= MAX_SQL_LENGTH) {
+            return sql;
+        }
+        return sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+    
+    /**
+     * Накопленные нарушения одного маршрута.
+     */
+    private static class Offender {
+        
+        private final String route;
+        private long requests;
+        private long nPlusOneRequests;
+        private long statements;
+        private int maxStatements;
+        private int maxRepeats;
+        private String mostRepeated;
+        private Instant lastSeen;
+        
+        Offender(String route) {
+            this.route = route;
+        }
+        
+        synchronized void record(StatementCounter.Statements request, boolean nPlusOne) {
+            requests++;
+            statements += request.getTotal();
+            maxStatements = Math.max(maxStatements, request.getTotal());
+            if (nPlusOne) {
+                nPlusOneRequests++;
+            }
+            if (request.getMaxRepeats() > maxRepeats) {
+                maxRepeats = request.getMaxRepeats();
+                mostRepeated = abbreviate(request.getMostRepeated());
+            }
+            lastSeen = Instant.now();
+        }
+        
+        synchronized long getRequests() { return requests; }
+        
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("route", route);
+            map.put("requests", requests);
+            map.put("nPlusOneRequests", nPlusOneRequests);
+            map.put("avgStatements", (double) statements / requests);
+            map.put("maxStatements", maxStatements);
+            map.put("maxRepeats", maxRepeats);
+            map.put("mostRepeatedSql", mostRepeated);
+            map.put("lastSeen", lastSeen.toString());
+            return map;
+        }
+    }
+}
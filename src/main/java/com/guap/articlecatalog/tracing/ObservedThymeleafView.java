@@ -0,0 +1,39 @@
+package com.guap.articlecatalog.tracing;
+
+import java.util.Map;
+
+import org.thymeleaf.spring6.view.ThymeleafView;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Представление Thymeleaf, отрисовка которого оформляется отдельным спаном (catalog.view).
+ * Ленивые загрузки из шаблона попадают в него дочерними JDBC-спанами.
+ */
+public class ObservedThymeleafView extends ThymeleafView {
+    
+    public static final String NAME = "catalog.view";
+    
+    private ObservationRegistry observationRegistry;
+    
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        Observation.createNotStarted(NAME, registry())
+                .contextualName("render " + getTemplateName())
+                .lowCardinalityKeyValue("template", getTemplateName())
+                .observeChecked(() -> super.render(model, request, response));
+    }
+    
+    // Представления создаёт ThymeleafViewResolver без внедрения зависимостей
+    private ObservationRegistry registry() {
+        if (observationRegistry == null) {
+            observationRegistry = obtainApplicationContext().getBeanProvider(ObservationRegistry.class)
+                    .getIfAvailable(() -> ObservationRegistry.NOOP);
+        }
+        return observationRegistry;
+    }
+}
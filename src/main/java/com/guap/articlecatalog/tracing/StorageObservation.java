@@ -0,0 +1,33 @@
+package com.guap.articlecatalog.tracing;
+
+import java.nio.file.Path;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Наблюдение (спан и таймер storage.io) вокруг чтения или записи файла в каталоге загрузок.
+ * Имя файла - только в атрибутах спана, в теги метрики не попадает.
+ */
+public final class StorageObservation {
+    
+    public static final String NAME = "storage.io";
+    
+    private StorageObservation() {
+    }
+    
+    public static Observation read(ObservationRegistry registry, Path path) {
+        return create(registry, "read", path);
+    }
+    
+    public static Observation write(ObservationRegistry registry, Path path) {
+        return create(registry, "write", path);
+    }
+    
+    private static Observation create(ObservationRegistry registry, String operation, Path path) {
+        return Observation.createNotStarted(NAME, registry)
+                .contextualName("file " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .highCardinalityKeyValue("file", String.valueOf(path.getFileName()));
+    }
+}
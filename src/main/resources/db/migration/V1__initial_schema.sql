@@ -0,0 +1,40 @@
+-- Исходная схема каталога (ранее создавалась Hibernate через ddl-auto=update)
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE articles_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id                BIGINT       NOT NULL,
+    username          VARCHAR(50)  NOT NULL,
+    email             VARCHAR(255) NOT NULL,
+    password          VARCHAR(255),
+    full_name         VARCHAR(100),
+    avatar_path       VARCHAR(255),
+    registration_date TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT       NOT NULL,
+    role    VARCHAR(255),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE articles (
+    id               BIGINT        NOT NULL,
+    title            VARCHAR(255)  NOT NULL,
+    authors          VARCHAR(500)  NOT NULL,
+    publication_year INTEGER,
+    keywords         VARCHAR(1000),
+    topic            VARCHAR(255),
+    pdf_file_path    VARCHAR(255)  NOT NULL,
+    pdf_file_name    VARCHAR(255),
+    file_size        BIGINT,
+    upload_date      TIMESTAMP(6),
+    content_hash     VARCHAR(64),
+    user_id          BIGINT        NOT NULL,
+    CONSTRAINT pk_articles PRIMARY KEY (id),
+    CONSTRAINT fk_articles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,12 @@
+-- Индексы под запросы ArticleRepository. Списки сортируются по upload_date DESC,
+-- поэтому дата входит в индекс последней колонкой в том же порядке
+
+-- Общий список и поиск без фильтра по теме: чтение страницы по индексу без сортировки
+CREATE INDEX idx_articles_upload_date ON articles (upload_date DESC);
+
+-- «Мои статьи»: страница пользователя без отдельной сортировки. H2 для этого запроса
+-- обходится индексом внешнего ключа по user_id, индекс нужен для внешних СУБД в prod
+CREATE INDEX idx_articles_user_upload ON articles (user_id, upload_date DESC);
+
+-- Статьи темы и группировка по темам
+CREATE INDEX idx_articles_topic_upload ON articles (topic, upload_date DESC);
@@ -0,0 +1,8 @@
+-- Отметка времени, по которой оценивается отставание реплик (см. ReadWriteRoutingDataSource)
+CREATE TABLE replication_heartbeat (
+    id        INTEGER      NOT NULL,
+    beat_time TIMESTAMP(6),
+    CONSTRAINT pk_replication_heartbeat PRIMARY KEY (id)
+);
+
+INSERT INTO replication_heartbeat (id, beat_time) VALUES (1, CURRENT_TIMESTAMP);
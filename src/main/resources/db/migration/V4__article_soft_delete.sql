@@ -0,0 +1,14 @@
+-- Мягкое удаление: статья получает отметку deleted_at, строку и файл позже удаляет фоновая очистка.
+-- Индекса по articles.deleted_at нет намеренно: H2 не умеет частичные индексы и для условия
+-- deleted_at IS NULL выбирал бы его вместо индексов списков
+ALTER TABLE articles ADD COLUMN deleted_at TIMESTAMP(6);
+
+-- Очередь очистки: по строке на удалённую статью, исчезает вместе со статьёй
+CREATE TABLE article_tombstones (
+    article_id BIGINT       NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_article_tombstones PRIMARY KEY (article_id),
+    CONSTRAINT fk_article_tombstones_article FOREIGN KEY (article_id) REFERENCES articles (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_article_tombstones_deleted_at ON article_tombstones (deleted_at);
@@ -0,0 +1,7 @@
+-- Лента API (курсор по upload_date, id): id добавлен в индексы списков как вторая колонка
+-- сортировки, чтобы страница после курсора читалась по индексу без сортировки
+DROP INDEX idx_articles_upload_date;
+CREATE INDEX idx_articles_upload_date ON articles (upload_date DESC, id DESC);
+
+DROP INDEX idx_articles_topic_upload;
+CREATE INDEX idx_articles_topic_upload ON articles (topic, upload_date DESC, id DESC);
@@ -0,0 +1,90 @@
+package com.guap.articlecatalog.bulkhead;
+
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.bulkhead.write.max-concurrent=1",
+        "app.bulkhead.write.max-queue=0"
+})
+@AutoConfigureMockMvc
+public class BulkheadFilterTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private DiskBulkheads diskBulkheads;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    void testSaturatedWriteBulkheadRejectsUploadsButNotDownloads() throws Exception {
+        User testUser = userRepository.findByUsername("testuser").orElseThrow();
+        CatalogUserPrincipal principal = CatalogUserPrincipal.from(testUser);
+        
+        // Единственное разрешение на запись занято «другой загрузкой»
+        assertNull(diskBulkheads.getWrite().acquire());
+        try {
+            mockMvc.perform(post("/articles/add").param("title", "Busy").with(user(principal)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"));
+            
+            // Чтение ограничено отдельно и не ждёт записи
+            int status = mockMvc.perform(get("/articles/download/{id}", Long.MAX_VALUE).with(user(principal)))
+                    .andReturn().getResponse().getStatus();
+            assertNotEquals(503, status);
+        } finally {
+            diskBulkheads.getWrite().release();
+        }
+        
+        // Разрешение скачивания вернулось после ответа
+        assertEquals(0, diskBulkheads.getRead().getActive());
+    }
+    
+    @Test
+    void testRunningImportAndExportDoNotBlockSingleUploadsAndDownloads() throws Exception {
+        User testUser = userRepository.findByUsername("testuser").orElseThrow();
+        CatalogUserPrincipal principal = CatalogUserPrincipal.from(testUser);
+        
+        // Потоковая выгрузка идёт асинхронно и не занимает разрешений хранилища
+        mockMvc.perform(get("/articles/export").with(user(principal)))
+                .andExpect(request().asyncStarted());
+        assertEquals(0, diskBulkheads.getRead().getActive());
+        assertEquals(0, diskBulkheads.getWrite().getActive());
+        
+        // Единственное разрешение импорта занято «идущим импортом»
+        assertNull(diskBulkheads.getImport().acquire());
+        try {
+            MockMultipartFile pdfFile = new MockMultipartFile("pdfFile", "single.txt", "text/plain", "text".getBytes());
+            int status = mockMvc.perform(multipart("/articles/add").file(pdfFile).param("title", "Single").with(user(principal)))
+                    .andReturn().getResponse().getStatus();
+            assertNotEquals(503, status);
+            status = mockMvc.perform(get("/articles/download/{id}", Long.MAX_VALUE).with(user(principal)))
+                    .andReturn().getResponse().getStatus();
+            assertNotEquals(503, status);
+            
+            // Второй импорт ждёт своей очереди, а не разрешений одиночных загрузок
+            assertEquals(0, diskBulkheads.getWrite().getActive());
+        } finally {
+            diskBulkheads.getImport().release();
+        }
+    }
+}
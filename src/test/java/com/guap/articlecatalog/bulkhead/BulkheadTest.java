@@ -0,0 +1,64 @@
+package com.guap.articlecatalog.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadTest {
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @Test
+    void testAcquire_WaitsForReleasedPermit() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("disk-write", 1, 1, 5000, meterRegistry);
+        assertNull(bulkhead.acquire());
+        
+        CompletableFuture<Bulkhead.Rejection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        waitUntilQueued(bulkhead, 1);
+        assertEquals(1.0, meterRegistry.get("bulkhead.queued").tag("name", "disk-write").gauge().value());
+        
+        bulkhead.release();
+        assertNull(waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(1, bulkhead.getActive());
+        assertEquals(0, bulkhead.getQueued());
+    }
+    
+    @Test
+    void testAcquire_RejectsWhenQueueFull() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("disk-read", 1, 0, 5000, meterRegistry);
+        assertNull(bulkhead.acquire());
+        
+        assertEquals(Bulkhead.Rejection.QUEUE_FULL, bulkhead.acquire());
+        assertEquals(1.0, meterRegistry.get("bulkhead.rejected")
+                .tag("name", "disk-read").tag("reason", "queue_full").counter().count());
+    }
+    
+    @Test
+    void testAcquire_TimesOut() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("disk-read", 1, 4, 20, meterRegistry);
+        assertNull(bulkhead.acquire());
+        
+        assertEquals(Bulkhead.Rejection.TIMEOUT, bulkhead.acquire());
+        assertEquals(0, bulkhead.getQueued());
+        assertTrue(meterRegistry.get("bulkhead.wait").tag("name", "disk-read").timer()
+                .max(TimeUnit.MILLISECONDS) >= 20);
+    }
+    
+    private static void waitUntilQueued(Bulkhead bulkhead, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (bulkhead.getQueued() != expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "Операция не встала в очередь");
+            Thread.sleep(5);
+        }
+    }
+}
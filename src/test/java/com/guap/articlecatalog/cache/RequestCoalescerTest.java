@@ -0,0 +1,117 @@
+package com.guap.articlecatalog.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+    }
+    
+    @Test
+    void testConcurrentIdenticalCallsShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> executeUnchecked(() -> {
+                    executions.incrementAndGet();
+                    release.await();
+                    return "page";
+                })));
+            }
+            // Все вызовы успели встать в ожидание первого
+            waitUntil(() -> meterRegistry.get("search.coalescing.calls").tag("outcome", "joined").counter().count() == 7);
+            release.countDown();
+            
+            for (Future<Object> result : results) {
+                assertEquals("page", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        assertEquals(1, executions.get());
+        assertEquals(7.0 / 8, coalescer.coalescingRatio(), 1e-9);
+    }
+    
+    @Test
+    void testResultCachedUntilInvalidated() throws Throwable {
+        AtomicInteger executions = new AtomicInteger();
+        RequestCoalescer.Call call = () -> executions.incrementAndGet();
+        
+        assertEquals(1, coalescer.execute("search", List.of("AI"), call));
+        assertEquals(1, coalescer.execute("search", List.of("AI"), call));
+        // Другие аргументы - другой ключ
+        assertEquals(2, coalescer.execute("search", List.of("ML"), call));
+        
+        coalescer.invalidate();
+        assertEquals(3, coalescer.execute("search", List.of("AI"), call));
+    }
+    
+    @Test
+    void testResultComputedBeforeInvalidationIsNotCached() throws Throwable {
+        AtomicInteger executions = new AtomicInteger();
+        
+        coalescer.execute("search", List.of("AI"), () -> {
+            executions.incrementAndGet();
+            // Статья изменилась, пока шёл запрос
+            coalescer.invalidate();
+            return "stale";
+        });
+        Object second = coalescer.execute("search", List.of("AI"), () -> {
+            executions.incrementAndGet();
+            return "fresh";
+        });
+        
+        assertEquals("fresh", second);
+        assertEquals(2, executions.get());
+    }
+    
+    @Test
+    void testFailureIsPropagatedAndNotCached() throws Throwable {
+        IllegalStateException failure = new IllegalStateException("db down");
+        
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> coalescer.execute("search", List.of("AI"), () -> { throw failure; })));
+        assertEquals("ok", coalescer.execute("search", List.of("AI"), () -> "ok"));
+    }
+    
+    private Object executeUnchecked(RequestCoalescer.Call call) throws Exception {
+        try {
+            return coalescer.execute("search", List.of("AI"), call);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Условие не выполнилось за 5 секунд");
+            Thread.sleep(5);
+        }
+    }
+}
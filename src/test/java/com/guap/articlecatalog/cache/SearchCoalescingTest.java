@@ -0,0 +1,51 @@
+package com.guap.articlecatalog.cache;
+
+import com.guap.articlecatalog.dto.ArticleSummary;
+import com.guap.articlecatalog.event.ArticleChangedEvent;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.service.ArticleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SearchCoalescingTest {
+    
+    @Autowired
+    private ArticleService articleService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void testRepeatedSearchServedWithoutQueriesUntilArticlesChange() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        PageRequest pageable = PageRequest.of(0, 10);
+        
+        Page<ArticleSummary> first = articleService.searchArticleSummaries(null, "Coalescing", "", pageable);
+        
+        statistics.clear();
+        // "" и null в условиях поиска - один и тот же запрос
+        Page<ArticleSummary> second = articleService.searchArticleSummaries("", "Coalescing", null, pageable);
+        assertSame(first, second);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        
+        Article changed = new Article();
+        changed.setTopic("Coalescing");
+        eventPublisher.publishEvent(ArticleChangedEvent.created(changed));
+        
+        articleService.searchArticleSummaries(null, "Coalescing", null, pageable);
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+    }
+}
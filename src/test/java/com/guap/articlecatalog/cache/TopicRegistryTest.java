@@ -0,0 +1,119 @@
+package com.guap.articlecatalog.cache;
+
+import com.guap.articlecatalog.event.ArticleChangedEvent;
+import com.guap.articlecatalog.event.ArticleCountsChangedEvent;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TopicRegistryTest {
+    
+    @Mock
+    private ArticleRepository articleRepository;
+    
+    @InjectMocks
+    private TopicRegistry topicRegistry;
+    
+    @BeforeEach
+    void setUp() {
+        when(articleRepository.countArticlesByTopic()).thenReturn(rows(
+                new Object[] {"Database", 2L},
+                new Object[] {"Programming", 1L}));
+        topicRegistry.rebuild();
+    }
+    
+    @Test
+    void testRebuild_LoadsTopicsFromDatabase() {
+        assertEquals(List.of("Database", "Programming"), topicRegistry.getTopics());
+    }
+    
+    @Test
+    void testDeleted_ReleaseToZeroRemovesTopic() {
+        topicRegistry.onArticleChanged(ArticleChangedEvent.deleted(article(1L, "Programming")));
+        
+        assertEquals(List.of("Database"), topicRegistry.getTopics());
+    }
+    
+    @Test
+    void testDeleted_TopicWithOtherArticlesRemains() {
+        topicRegistry.onArticleChanged(ArticleChangedEvent.deleted(article(1L, "Database")));
+        
+        assertEquals(List.of("Database", "Programming"), topicRegistry.getTopics());
+    }
+    
+    @Test
+    void testUpdated_TopicChangeMovesReference() {
+        topicRegistry.onArticleChanged(ArticleChangedEvent.updated(article(1L, "Networks"), "Programming"));
+        
+        assertEquals(List.of("Database", "Networks"), topicRegistry.getTopics());
+    }
+    
+    @Test
+    void testEmptyTopicIsIgnored() {
+        topicRegistry.onArticleChanged(ArticleChangedEvent.created(article(1L, "")));
+        topicRegistry.onArticleChanged(ArticleChangedEvent.updated(article(1L, "Networks"), ""));
+        topicRegistry.onArticleChanged(ArticleChangedEvent.updated(article(2L, ""), "Programming"));
+        
+        assertEquals(List.of("Database", "Networks"), topicRegistry.getTopics());
+    }
+    
+    @Test
+    void testCreatedUpdatedDeletedSequence() {
+        Article article = article(1L, "Networks");
+        
+        topicRegistry.onArticleChanged(ArticleChangedEvent.created(article));
+        assertEquals(List.of("Database", "Networks", "Programming"), topicRegistry.getTopics());
+        
+        article.setTopic("Security");
+        topicRegistry.onArticleChanged(ArticleChangedEvent.updated(article, "Networks"));
+        assertEquals(List.of("Database", "Programming", "Security"), topicRegistry.getTopics());
+        
+        topicRegistry.onArticleChanged(ArticleChangedEvent.deleted(article));
+        assertEquals(List.of("Database", "Programming"), topicRegistry.getTopics());
+    }
+    
+    @Test
+    void testCountsChanged_AppliesTopicDeltas() {
+        topicRegistry.onArticleCountsChanged(new ArticleCountsChangedEvent(3,
+                Map.of(1L, 3L), Map.of("Networks", 2L, "Programming", 1L)));
+        topicRegistry.onArticleChanged(ArticleChangedEvent.deleted(article(1L, "Programming")));
+        
+        assertEquals(List.of("Database", "Networks", "Programming"), topicRegistry.getTopics());
+    }
+    
+    @Test
+    void testRebuild_RepairsDrift() {
+        topicRegistry.onArticleChanged(ArticleChangedEvent.created(article(1L, "Networks")));
+        when(articleRepository.countArticlesByTopic()).thenReturn(rows(
+                new Object[] {"Database", 2L},
+                new Object[] {"", 4L}));
+        
+        topicRegistry.rebuild();
+        
+        assertEquals(List.of("Database"), topicRegistry.getTopics());
+    }
+    
+    private static Article article(Long id, String topic) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTopic(topic);
+        return article;
+    }
+    
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -0,0 +1,40 @@
+package com.guap.articlecatalog.config;
+
+import com.guap.articlecatalog.logging.SamplingRule;
+import com.guap.articlecatalog.logging.SamplingTurboFilter;
+import com.guap.articlecatalog.metrics.StatementCounter;
+import com.guap.articlecatalog.tracing.ObservedThymeleafView;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NativeHintsTest {
+    
+    private final RuntimeHints hints = new RuntimeHints();
+    
+    @Test
+    void testClassesCreatedByNameAreRegistered() {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+        
+        assertTrue(RuntimeHintsPredicates.reflection().onType(StatementCounter.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SamplingTurboFilter.class)
+                .withMemberCategories(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SamplingRule.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ObservedThymeleafView.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+    
+    @Test
+    void testResourcesOutsideSpringAreRegistered() {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+        
+        assertTrue(RuntimeHintsPredicates.resource().forResource("ehcache.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("templates/articles/list.html").test(hints));
+    }
+}
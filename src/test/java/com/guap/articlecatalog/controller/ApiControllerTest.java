@@ -0,0 +1,209 @@
+package com.guap.articlecatalog.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ApiControllerTest {
+    
+    private static final String TOPIC = "Api Topic";
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ArticleRepository articleRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private User uploader;
+    private final List<Long> expectedOrder = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        uploader = new User();
+        uploader.setUsername("api_user");
+        uploader.setEmail("api_user@example.com");
+        uploader.setPassword("encodedPassword");
+        uploader.setFullName("Api User");
+        uploader = userRepository.save(uploader);
+        
+        // Две статьи с одинаковой датой проверяют сравнение по id внутри курсора
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        LocalDateTime[] dates = { base, base.plusHours(1), base.plusHours(1), base.plusHours(2), base.plusHours(3) };
+        List<Article> saved = new ArrayList<>();
+        for (int i = 0; i < dates.length; i++) {
+            Article article = new Article();
+            article.setTitle("Api article " + i);
+            article.setAuthors("Author " + i);
+            article.setTopic(TOPIC);
+            article.setPdfFilePath("missing.pdf");
+            article.setUploadDate(dates[i]);
+            article.setUser(uploader);
+            saved.add(articleRepository.save(article));
+        }
+        expectedOrder.add(saved.get(4).getId());
+        expectedOrder.add(saved.get(3).getId());
+        expectedOrder.add(Math.max(saved.get(1).getId(), saved.get(2).getId()));
+        expectedOrder.add(Math.min(saved.get(1).getId(), saved.get(2).getId()));
+        expectedOrder.add(saved.get(0).getId());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        articleRepository.deleteAll(articleRepository.findByUser(uploader));
+        userRepository.delete(uploader);
+    }
+    
+    @Test
+    void testArticleFeed_CursorWalksAllPagesInOrder() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        
+        do {
+            MockHttpServletRequestBuilder request = get("/api/v1/articles")
+                    .param("topic", TOPIC)
+                    .param("size", "2")
+                    .with(user(CatalogUserPrincipal.from(uploader)));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            
+            statistics.clear();
+            JsonNode page = readJson(request);
+            // Одна выборка на страницу: ни подсчёта строк, ни догрузки пользователей
+            assertEquals(1, statistics.getPrepareStatementCount());
+            
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+        
+        assertEquals(3, pages);
+        assertEquals(expectedOrder, ids);
+    }
+    
+    @Test
+    void testArticleFeed_FieldsProjection() throws Exception {
+        JsonNode page = readJson(get("/api/v1/articles")
+                .param("topic", TOPIC)
+                .param("fields", "id,title,username")
+                .with(user(CatalogUserPrincipal.from(uploader))));
+        
+        JsonNode first = page.get("items").get(0);
+        List<String> names = new ArrayList<>();
+        first.fieldNames().forEachRemaining(names::add);
+        assertEquals(List.of("id", "title", "username"), names);
+        assertEquals("api_user", first.get("username").asText());
+    }
+    
+    @Test
+    void testArticleApi_RejectsUnknownFieldsAndBadCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/articles").param("fields", "id,pdfFilePath")
+                        .with(user(CatalogUserPrincipal.from(uploader))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/articles").param("cursor", "not-a-cursor")
+                        .with(user(CatalogUserPrincipal.from(uploader))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/articles/{id}", Long.MAX_VALUE)
+                        .with(user(CatalogUserPrincipal.from(uploader))))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void testSearchStream_ReturnsNdjsonForAllMatches() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/articles/search")
+                        .param("topic", TOPIC)
+                        .param("fields", "id")
+                        .with(user(CatalogUserPrincipal.from(uploader))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        
+        List<Long> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertEquals(expectedOrder, ids);
+    }
+    
+    @Test
+    void testApi_RequiresAuthenticationWithoutRedirect() throws Exception {
+        mockMvc.perform(get("/api/v1/articles"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists("WWW-Authenticate"));
+        
+        mockMvc.perform(get("/api/v1/articles").with(httpBasic("testuser", "password123")))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void testUserApi_SearchAndProfile() throws Exception {
+        JsonNode page = readJson(get("/api/v1/users")
+                .param("query", "api_user")
+                .param("fields", "id,username")
+                .with(user(CatalogUserPrincipal.from(uploader))));
+        
+        assertEquals(1, page.get("items").size());
+        assertEquals("api_user", page.get("items").get(0).get("username").asText());
+        assertFalse(page.get("items").get(0).has("email"));
+        assertFalse(page.has("nextCursor"));
+        
+        JsonNode profile = readJson(get("/api/v1/users/{id}", uploader.getId())
+                .with(user(CatalogUserPrincipal.from(uploader))));
+        assertEquals("Api User", profile.get("fullName").asText());
+        assertFalse(profile.has("password"));
+    }
+    
+    private JsonNode readJson(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
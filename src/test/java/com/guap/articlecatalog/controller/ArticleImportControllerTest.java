@@ -0,0 +1,133 @@
+package com.guap.articlecatalog.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Импорт в два запроса: манифест multipart-файлом, архив - телом запроса application/zip.
+ */
+@SpringBootTest(properties = {
+        "app.upload.dir=target/import-controller-test",
+        "app.import.max-archive-size=4096"
+})
+@AutoConfigureMockMvc
+public class ArticleImportControllerTest {
+    
+    private static final Path UPLOAD_DIR = Path.of("target/import-controller-test");
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private CatalogUserPrincipal principal;
+    
+    @BeforeEach
+    void setUp() {
+        User testUser = userRepository.findByUsername("testuser").orElseThrow();
+        principal = CatalogUserPrincipal.from(testUser);
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        jdbcTemplate.update("DELETE FROM articles WHERE pdf_file_path LIKE ?", "%import-controller-test%");
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+    }
+    
+    @Test
+    void testImportReadsArchiveFromRequestBody() throws Exception {
+        String manifestId = stageManifest("file,title,authors\nstreamed.pdf,Streamed paper,Ivanov\n");
+        
+        mockMvc.perform(post("/articles/import")
+                        .param("manifestId", manifestId)
+                        .contentType("application/zip")
+                        .content(zip("streamed.pdf", "%PDF-1.4 streamed"))
+                        .with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+    
+    @Test
+    void testArchiveOverLimitIsRejected() throws Exception {
+        String manifestId = stageManifest("file,title,authors\nbig.pdf,Big paper,Ivanov\n");
+        
+        mockMvc.perform(post("/articles/import")
+                        .param("manifestId", manifestId)
+                        .contentType("application/zip")
+                        .content(new byte[8192])
+                        .with(user(principal)))
+                .andExpect(status().isPayloadTooLarge());
+    }
+    
+    @Test
+    void testUnknownManifestIsNotFound() throws Exception {
+        mockMvc.perform(post("/articles/import")
+                        .param("manifestId", "missing")
+                        .contentType("application/zip")
+                        .content(zip("a.pdf", "%PDF-1.4"))
+                        .with(user(principal)))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void testInvalidManifestIsRejectedBeforeArchive() throws Exception {
+        MockMultipartFile manifest = new MockMultipartFile("manifest", "manifest.json",
+                "application/json", "not json".getBytes(StandardCharsets.UTF_8));
+        
+        mockMvc.perform(multipart("/articles/import/manifest").file(manifest).with(user(principal)))
+                .andExpect(status().isBadRequest());
+    }
+    
+    private String stageManifest(String csv) throws Exception {
+        MockMultipartFile manifest = new MockMultipartFile("manifest", "manifest.csv",
+                "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+        String body = mockMvc.perform(multipart("/articles/import/manifest").file(manifest).with(user(principal)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = new ObjectMapper().readTree(body);
+        assertTrue(json.hasNonNull("manifestId"));
+        return json.get("manifestId").asText();
+    }
+    
+    private static byte[] zip(String name, String content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(buffer)) {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,141 @@
+package com.guap.articlecatalog.controller;
+
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Страницы со списками статей должны выполнять фиксированное число запросов
+ * независимо от числа авторов на странице (страница + count).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ArticleListingQueryCountTest {
+    
+    private static final long MAX_STATEMENTS_PER_LISTING = 2;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ArticleRepository articleRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private final List<User> seededUsers = new ArrayList<>();
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        // 5 авторов по 3 статьи: больше одной страницы и много разных пользователей
+        for (int u = 0; u < 5; u++) {
+            User uploader = new User();
+            uploader.setUsername("listing_user_" + u);
+            uploader.setEmail("listing_user_" + u + "@example.com");
+            uploader.setPassword("encodedPassword");
+            uploader.setFullName("Listing User " + u);
+            uploader = userRepository.save(uploader);
+            seededUsers.add(uploader);
+            
+            for (int a = 0; a < 3; a++) {
+                Article article = new Article();
+                article.setTitle("Article " + u + "-" + a);
+                article.setAuthors("Author " + a);
+                article.setTopic("Topic " + a);
+                article.setKeywords("keyword" + a);
+                article.setPdfFilePath("missing.pdf");
+                article.setUser(uploader);
+                articleRepository.save(article);
+            }
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        for (User seeded : seededUsers) {
+            articleRepository.deleteAll(articleRepository.findByUser(seeded));
+        }
+        userRepository.deleteAll(seededUsers);
+    }
+    
+    @Test
+    void testAllArticlesPage_StatementCountIndependentOfUploaders() throws Exception {
+        long statements = countStatements(() -> mockMvc.perform(get("/articles").with(user(principalOf(0))))
+                .andExpect(status().isOk()));
+        
+        assertTrue(statements <= MAX_STATEMENTS_PER_LISTING,
+                "Страница /articles выполнила " + statements + " запросов");
+    }
+    
+    @Test
+    void testSearchPage_StatementCount() throws Exception {
+        long statements = countStatements(() -> mockMvc.perform(get("/articles")
+                        .param("topic", "Topic 1")
+                        .param("keyword", "keyword")
+                        .with(user(principalOf(0))))
+                .andExpect(status().isOk()));
+        
+        assertTrue(statements <= MAX_STATEMENTS_PER_LISTING,
+                "Поиск выполнил " + statements + " запросов");
+    }
+    
+    @Test
+    void testMyArticlesPage_StatementCount() throws Exception {
+        long statements = countStatements(() -> mockMvc.perform(get("/articles/my").with(user(principalOf(1))))
+                .andExpect(status().isOk()));
+        
+        assertTrue(statements <= MAX_STATEMENTS_PER_LISTING,
+                "Страница /articles/my выполнила " + statements + " запросов");
+        
+        long searchStatements = countStatements(() -> mockMvc.perform(get("/articles/my")
+                        .param("query", "Article")
+                        .with(user(principalOf(1))))
+                .andExpect(status().isOk()));
+        
+        assertTrue(searchStatements <= MAX_STATEMENTS_PER_LISTING,
+                "Поиск по своим статьям выполнил " + searchStatements + " запросов");
+    }
+    
+    private CatalogUserPrincipal principalOf(int index) {
+        return CatalogUserPrincipal.from(seededUsers.get(index));
+    }
+    
+    private long countStatements(ThrowingRunnable action) throws Exception {
+        // Кэш второго уровня скрыл бы N+1 - измеряем на холодном кэше
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+    
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
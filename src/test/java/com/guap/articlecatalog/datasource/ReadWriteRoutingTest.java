@@ -0,0 +1,100 @@
+package com.guap.articlecatalog.datasource;
+
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Основная БД и реплика - два независимых экземпляра H2 в памяти.
+ * Репликацию тест изображает сам, записывая heartbeat в реплику.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.replica.urls=" + ReadWriteRoutingTest.REPLICA_URL,
+        "app.datasource.routing.max-replication-lag-ms=5000",
+        "app.datasource.routing.heartbeat-interval-ms=3600000"
+})
+public class ReadWriteRoutingTest {
+    
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+    
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private UserService userService;
+    
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+    
+    @BeforeEach
+    void setUp() {
+        replicate(Instant.now());
+        routingDataSource.checkReplicationLag();
+    }
+    
+    @Test
+    void testReadOnlyTransactionGoesToReplica() {
+        assertEquals(List.of("replica-1"), routingDataSource.getAvailableReplicas());
+        assertEquals("ROUTING_REPLICA", currentDatabase(true));
+        assertEquals("ROUTING_PRIMARY", currentDatabase(false));
+    }
+    
+    @Test
+    void testReadOnlyServiceMethodReadsFromReplica() {
+        replica.update("MERGE INTO users (id, username, email, password, full_name) KEY (id) " +
+                "VALUES (100000, 'replica_only_user', 'replica_only@example.com', 'x', 'Replica Only')");
+        
+        List<User> found = userService.searchUsers("replica_only");
+        
+        assertEquals(1, found.size());
+        assertEquals("replica_only_user", found.get(0).getUsername());
+        assertTrue(userService.findByUsername("replica_only_user").isEmpty());
+    }
+    
+    @Test
+    void testLaggingReplicaIsSkipped() {
+        replicate(Instant.now().minus(1, ChronoUnit.MINUTES));
+        routingDataSource.checkReplicationLag();
+        
+        assertTrue(routingDataSource.getAvailableReplicas().isEmpty());
+        assertEquals("ROUTING_PRIMARY", currentDatabase(true));
+    }
+    
+    private void replicate(Instant beat) {
+        replica.update("UPDATE replication_heartbeat SET beat_time = ? WHERE id = 1", Timestamp.from(beat));
+    }
+    
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+}
@@ -0,0 +1,407 @@
+package com.guap.articlecatalog.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.guap.articlecatalog.ArticleCatalogApplication;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Нагрузка смесью операций: список, поиск, просмотр, скачивание и загрузка статей.
+ * Приложение запускается с заполненным каталогом, виртуальные пользователи (потоки со своей
+ * сессией) выполняют операции в пропорциях loadtest.mix.* в течение duration-seconds.
+ * <p>
+ * Бюджеты задержек (p95/p99), доля ошибок, пропускная способность и среднее число SQL-операторов
+ * на запрос заданы в loadtest.properties; любое значение переопределяется через -D.
+ * Отчёт пишется в target/loadtest-report.json. Запуск: mvn -Ploadtest test
+ */
+@Tag("load")
+public class CatalogLoadTest {
+    
+    private static final String PASSWORD = "password123";
+    private static final String BOUNDARY = "----catalog-load-test";
+    
+    @TempDir
+    Path uploadDir;
+    
+    private final Properties config = loadConfig();
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+    private final List<Long> articleIds = new ArrayList<>();
+    private final List<Long> fileArticleIds = new ArrayList<>();
+    private byte[] pdf;
+    
+    enum Operation {
+        LIST("/articles"),
+        SEARCH("/articles"),
+        VIEW("/articles/view/{id}"),
+        DOWNLOAD("/articles/download/{id}"),
+        UPLOAD("/articles/add");
+        
+        // Шаблон маршрута - тег uri метрики hibernate.statements.per.request
+        final String uri;
+        
+        Operation(String uri) {
+            this.uri = uri;
+        }
+        
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+    
+    @Test
+    void testMixedWorkloadStaysWithinBudgets() throws Exception {
+        pdf = pdfContent(intConfig("loadtest.pdf-size"));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ArticleCatalogApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:catalog_load",
+                        "--app.upload.dir=" + uploadDir,
+                        // Все пользователи идут с одного адреса: лимиты и допуск к диску
+                        // ограничили бы сам тест, а не приложение
+                        "--app.ratelimit.enabled=false",
+                        "--app.bulkhead.enabled=false",
+                        "--spring.thymeleaf.cache=true",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.guap.articlecatalog=WARN",
+                        "--logging.level.com.guap.articlecatalog.controller=WARN",
+                        "--logging.level.com.guap.articlecatalog.service=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")) {
+            
+            seedCatalog(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            int users = intConfig("loadtest.users");
+            
+            // Прогрев (JIT, пул соединений, кэши) - результаты отбрасываются
+            runWorkload(baseUrl, users, intConfig("loadtest.warmup-seconds"));
+            recorders.clear();
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            meterRegistry.find("hibernate.statements.per.request").meters().forEach(meterRegistry::remove);
+            
+            int seconds = intConfig("loadtest.duration-seconds");
+            runWorkload(baseUrl, users, seconds);
+            
+            Map<Operation, LatencyRecorder.Summary> summaries = new EnumMap<>(Operation.class);
+            recorders.forEach((operation, recorder) -> summaries.put(operation, recorder.summarize(seconds)));
+            Map<Operation, Double> statements = statementsPerRequest(meterRegistry);
+            
+            printReport(summaries, statements);
+            writeReport(users, seconds, summaries, statements);
+            checkBudgets(summaries, statements, seconds);
+        }
+    }
+    
+    private void runWorkload(String baseUrl, int users, int seconds) throws Exception {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<?>> virtualUsers = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                virtualUsers.add(pool.submit(() -> {
+                    HttpClient client = login(baseUrl);
+                    while (System.nanoTime() < deadline) {
+                        execute(client, baseUrl, nextOperation());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> virtualUser : virtualUsers) {
+                virtualUser.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private void execute(HttpClient client, String baseUrl, Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest request = switch (operation) {
+            case LIST -> get(baseUrl + "/articles?page=" + random.nextInt(5));
+            case SEARCH -> get(baseUrl + "/articles?" + randomSearch(random));
+            case VIEW -> get(baseUrl + "/articles/view/" + articleIds.get(random.nextInt(articleIds.size())));
+            case DOWNLOAD -> get(baseUrl + "/articles/download/"
+                    + fileArticleIds.get(random.nextInt(fileArticleIds.size())));
+            case UPLOAD -> upload(baseUrl);
+        };
+        // Загрузка успешна, только если форма перенаправила на «Мои статьи»
+        int expected = operation == Operation.UPLOAD ? 302 : 200;
+        
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            success = response.statusCode() == expected;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorders.get(operation).record(System.nanoTime() - start, success);
+    }
+    
+    private Operation nextOperation() {
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            total += intConfig("loadtest.mix." + operation.key());
+        }
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Operation operation : Operation.values()) {
+            pick -= intConfig("loadtest.mix." + operation.key());
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException();
+    }
+    
+    private String randomSearch(ThreadLocalRandom random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> "topic=" + encode("Тема " + random.nextInt(20));
+            case 1 -> "author=" + encode("Автор " + random.nextInt(200));
+            default -> "keyword=" + encode("ключ" + random.nextInt(50));
+        };
+    }
+    
+    private HttpRequest upload(String baseUrl) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writePart(body, "title", "Нагрузочная статья");
+        writePart(body, "authors", "Автор нагрузки");
+        writePart(body, "topic", "Тема 0");
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"pdfFile\"; filename=\"load.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(pdf);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/articles/add"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+    
+    private void writePart(ByteArrayOutputStream body, String name, String value) {
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private HttpClient login(String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/perform-login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=testuser&password=" + PASSWORD))
+                .build();
+        HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+        assertEquals(302, response.statusCode());
+        return client;
+    }
+    
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).build();
+    }
+    
+    // Статьи с повторяющимися темами, авторами и ключевыми словами; у первых seed.files - реальный PDF
+    private void seedCatalog(ConfigurableApplicationContext context) throws IOException {
+        ArticleRepository repository = context.getBean(ArticleRepository.class);
+        User owner = context.getBean(UserRepository.class).findByUsername("testuser").orElseThrow();
+        int articles = intConfig("loadtest.seed.articles");
+        int files = intConfig("loadtest.seed.files");
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<Article> batch = new ArrayList<>();
+        for (int i = 0; i < articles; i++) {
+            Article article = new Article();
+            article.setTitle("Статья " + i);
+            article.setAuthors("Автор " + (i % 200) + ", Соавтор " + (i % 7));
+            article.setTopic("Тема " + (i % 20));
+            article.setKeywords("ключ" + (i % 50) + ", слово" + (i % 13));
+            article.setPublicationYear(2000 + i % 25);
+            article.setPdfFileName("article-" + i + ".pdf");
+            if (i < files) {
+                Path file = uploadDir.resolve("seed-" + i + ".pdf");
+                Files.write(file, pdf);
+                article.setPdfFilePath(file.toString());
+                article.setFileSize((long) pdf.length);
+            } else {
+                article.setPdfFilePath(uploadDir.resolve("missing-" + i + ".pdf").toString());
+            }
+            article.setUploadDate(now.minusMinutes(i));
+            article.setUser(owner);
+            batch.add(article);
+        }
+        for (Article saved : repository.saveAll(batch)) {
+            articleIds.add(saved.getId());
+            if (articleIds.size() <= files) {
+                fileArticleIds.add(saved.getId());
+            }
+        }
+    }
+    
+    private Map<Operation, Double> statementsPerRequest(MeterRegistry meterRegistry) {
+        Map<Operation, Double> statements = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            Search search = meterRegistry.find("hibernate.statements.per.request").tag("uri", operation.uri);
+            if (search.summary() != null) {
+                statements.put(operation, search.summary().mean());
+            }
+        }
+        return statements;
+    }
+    
+    private void checkBudgets(Map<Operation, LatencyRecorder.Summary> summaries,
+                              Map<Operation, Double> statements, int seconds) {
+        List<String> violations = new ArrayList<>();
+        double maxErrorRate = doubleConfig("budget.max-error-rate");
+        int totalRequests = 0;
+        
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.Summary summary = summaries.get(operation);
+            String key = operation.key();
+            totalRequests += summary.requests();
+            
+            if (summary.requests() == 0) {
+                violations.add(key + ": ни одного запроса");
+                continue;
+            }
+            checkMax(violations, key + " p95, мс", summary.p95Ms(), doubleConfig("budget." + key + ".p95-ms"));
+            checkMax(violations, key + " p99, мс", summary.p99Ms(), doubleConfig("budget." + key + ".p99-ms"));
+            checkMax(violations, key + " доля ошибок", summary.errorRate(), maxErrorRate);
+            // Рост числа операторов на запрос - признак N+1
+            checkMax(violations, key + " SQL на запрос", statements.getOrDefault(operation, 0.0),
+                    doubleConfig("budget." + key + ".statements"));
+        }
+        
+        double throughput = (double) totalRequests / seconds;
+        double minThroughput = doubleConfig("budget.min-throughput");
+        if (throughput < minThroughput) {
+            violations.add(String.format("пропускная способность %.1f запр/с ниже бюджета %.1f", throughput, minThroughput));
+        }
+        
+        assertTrue(violations.isEmpty(), "Превышены бюджеты нагрузочного теста:\n" + String.join("\n", violations));
+    }
+    
+    private static void checkMax(List<String> violations, String name, double actual, double budget) {
+        if (actual > budget) {
+            violations.add(String.format("%s = %.2f, бюджет %.2f", name, actual, budget));
+        }
+    }
+    
+    private void printReport(Map<Operation, LatencyRecorder.Summary> summaries, Map<Operation, Double> statements) {
+        System.out.printf("%-10s %9s %7s %10s %9s %9s %9s %7s%n",
+                "операция", "запросов", "ошибок", "запр/с", "p50, мс", "p95, мс", "p99, мс", "SQL");
+        summaries.forEach((operation, s) -> System.out.printf("%-10s %9d %7d %10.1f %9.1f %9.1f %9.1f %7.1f%n",
+                operation.key(), s.requests(), s.errors(), s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(),
+                statements.getOrDefault(operation, 0.0)));
+    }
+    
+    private void writeReport(int users, int seconds, Map<Operation, LatencyRecorder.Summary> summaries,
+                             Map<Operation, Double> statements) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("durationSeconds", seconds);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        summaries.forEach((operation, s) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", s.requests());
+            entry.put("errors", s.errors());
+            entry.put("throughput", s.throughput());
+            entry.put("p50Ms", s.p50Ms());
+            entry.put("p95Ms", s.p95Ms());
+            entry.put("p99Ms", s.p99Ms());
+            entry.put("statementsPerRequest", statements.getOrDefault(operation, 0.0));
+            operations.put(operation.key(), entry);
+        });
+        report.put("operations", operations);
+        
+        Path target = Path.of("target");
+        Files.createDirectories(target);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(target.resolve("loadtest-report.json").toFile(), report);
+    }
+    
+    private static byte[] pdfContent(int size) {
+        byte[] content = new byte[size];
+        byte[] header = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, content, 0, Math.min(header.length, size));
+        return content;
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+    
+    private int intConfig(String key) {
+        return Integer.parseInt(config.getProperty(key).trim());
+    }
+    
+    private double doubleConfig(String key) {
+        return Double.parseDouble(config.getProperty(key).trim());
+    }
+    
+    // loadtest.properties, поверх - системные свойства (mvn -Ploadtest test -Dloadtest.users=64)
+    private static Properties loadConfig() {
+        Properties properties = new Properties();
+        try (InputStream input = CatalogLoadTest.class.getResourceAsStream("/loadtest.properties")) {
+            assertNotNull(input, "Нет loadtest.properties");
+            properties.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                properties.setProperty(key, override);
+            }
+        }
+        return properties;
+    }
+}
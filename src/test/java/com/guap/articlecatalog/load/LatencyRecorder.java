@@ -0,0 +1,47 @@
+package com.guap.articlecatalog.load;
+
+import java.util.Arrays;
+
+/**
+ * Задержки одной операции нагрузочного теста. Значения копятся в массиве под блокировкой:
+ * запись - несколько наносекунд против миллисекунд HTTP-запроса, на результат не влияет.
+ */
+class LatencyRecorder {
+    
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    
+    synchronized void record(long nanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+    
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, count / seconds,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.95), percentileMs(sorted, 0.99));
+    }
+    
+    // Ближайший ранг: p-й перцентиль - наименьшее значение, не меньшее доли p всех замеров
+    private static double percentileMs(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+    
+    record Summary(int requests, int errors, double throughput, double p50Ms, double p95Ms, double p99Ms) {
+        
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
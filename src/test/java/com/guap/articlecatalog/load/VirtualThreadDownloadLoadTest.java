@@ -0,0 +1,180 @@
+package com.guap.articlecatalog.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.guap.articlecatalog.ArticleCatalogApplication;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.repository.UserRepository;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Одновременные скачивания при одинаковом пуле Tomcat (POOL_SIZE потоков):
+ * обычные потоки против виртуальных. Медленное хранилище изображает фильтр с задержкой,
+ * блокирующей поток так же, как чтение файла с медленного диска или запрос к БД.
+ * Запуск: mvn -Pjava21,loadtest test (на Java 21). Отчёт пишется в target/virtual-threads-report.json.
+ */
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadDownloadLoadTest {
+    
+    private static final int POOL_SIZE = 8;
+    private static final int CONCURRENT_DOWNLOADS = 200;
+    private static final long STORAGE_LATENCY_MS = 100;
+    private static final int PDF_SIZE = 256 * 1024;
+    
+    @TempDir
+    Path uploadDir;
+    
+    @Test
+    void testVirtualThreadsRaiseDownloadThroughputWithSamePool() throws Exception {
+        double platformThroughput = measureThroughput(false);
+        double virtualThroughput = measureThroughput(true);
+        
+        writeReport(platformThroughput, virtualThroughput);
+        
+        // С пулом из POOL_SIZE потоков скачивания идут волнами по STORAGE_LATENCY_MS
+        assertTrue(virtualThroughput >= platformThroughput * 3, String.format(
+                "Виртуальные потоки должны поднять пропускную способность хотя бы втрое: " +
+                "скачиваний в секунду (пул %d) обычные потоки %.1f, виртуальные %.1f",
+                POOL_SIZE, platformThroughput, virtualThroughput));
+    }
+    
+    private void writeReport(double platformThroughput, double virtualThroughput) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("poolSize", POOL_SIZE);
+        report.put("concurrentDownloads", CONCURRENT_DOWNLOADS);
+        report.put("storageLatencyMs", STORAGE_LATENCY_MS);
+        report.put("platformThroughput", platformThroughput);
+        report.put("virtualThroughput", virtualThroughput);
+        
+        Path target = Path.of("target");
+        Files.createDirectories(target);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(target.resolve("virtual-threads-report.json").toFile(), report);
+    }
+    
+    private double measureThroughput(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                ArticleCatalogApplication.class, SlowStorageConfig.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + POOL_SIZE,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:download_load_" + virtualThreads,
+                        "app.upload.dir=" + uploadDir,
+                        "app.ratelimit.enabled=false",
+                        "app.bulkhead.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.guap.articlecatalog=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.springframework.security=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run()) {
+            
+            Long articleId = seedArticle(context, virtualThreads);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = login(port);
+            URI download = URI.create("http://localhost:" + port + "/articles/download/" + articleId);
+            
+            // Прогрев: JIT, пул соединений с БД, кэш второго уровня
+            runDownloads(client, download, POOL_SIZE * 2);
+            
+            long start = System.nanoTime();
+            runDownloads(client, download, CONCURRENT_DOWNLOADS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return CONCURRENT_DOWNLOADS / seconds;
+        }
+    }
+    
+    private Long seedArticle(ConfigurableApplicationContext context, boolean virtualThreads) throws Exception {
+        User owner = context.getBean(UserRepository.class).findByUsername("testuser").orElseThrow();
+        Path pdf = uploadDir.resolve("load-" + virtualThreads + ".pdf");
+        byte[] content = new byte[PDF_SIZE];
+        System.arraycopy("%PDF-1.4".getBytes(), 0, content, 0, 8);
+        Files.write(pdf, content);
+        
+        Article article = new Article();
+        article.setTitle("Load test");
+        article.setAuthors("Author");
+        article.setPdfFilePath(pdf.toString());
+        article.setPdfFileName("load.pdf");
+        article.setUser(owner);
+        return context.getBean(ArticleRepository.class).save(article).getId();
+    }
+    
+    private HttpClient login(int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/perform-login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=testuser&password=password123"))
+                .build();
+        HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+        assertEquals(302, response.statusCode());
+        return client;
+    }
+    
+    private void runDownloads(HttpClient client, URI download, int count) {
+        List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(download).build(),
+                    HttpResponse.BodyHandlers.ofByteArray()));
+        }
+        for (CompletableFuture<HttpResponse<byte[]>> response : responses) {
+            HttpResponse<byte[]> result = response.join();
+            assertEquals(200, result.statusCode());
+            assertEquals(PDF_SIZE, result.body().length);
+        }
+    }
+    
+    @TestConfiguration
+    static class SlowStorageConfig {
+        
+        @Bean
+        FilterRegistrationBean<Filter> slowStorageFilter() {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                try {
+                    Thread.sleep(STORAGE_LATENCY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                chain.doFilter(request, response);
+            });
+            registration.addUrlPatterns("/articles/download/*");
+            return registration;
+        }
+    }
+}
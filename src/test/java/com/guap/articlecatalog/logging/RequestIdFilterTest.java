@@ -0,0 +1,50 @@
+package com.guap.articlecatalog.logging;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestIdFilterTest {
+    
+    private final RequestIdFilter filter = new RequestIdFilter();
+    
+    @Test
+    void testIncomingRequestIdIsKeptInMdcAndResponse() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/articles");
+        request.addHeader(RequestIdFilter.HEADER, "edge-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+        
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen.set(MDC.get(RequestIdFilter.MDC_KEY));
+            }
+        });
+        
+        assertEquals("edge-42", seen.get());
+        assertEquals("edge-42", response.getHeader(RequestIdFilter.HEADER));
+        assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+    }
+    
+    @Test
+    void testUnsafeRequestIdIsReplaced() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/articles");
+        request.addHeader(RequestIdFilter.HEADER, "bad id\nINFO forged line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        filter.doFilter(request, response, new MockFilterChain());
+        
+        String requestId = response.getHeader(RequestIdFilter.HEADER);
+        assertNotNull(requestId);
+        assertTrue(requestId.matches("[0-9a-f]{16}"), requestId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.guap.articlecatalog.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SamplingTurboFilterTest {
+    
+    private final LoggerContext context = new LoggerContext();
+    private final SamplingTurboFilter filter = new SamplingTurboFilter();
+    
+    @BeforeEach
+    void setUp() {
+        filter.addRule(rule("com.example", 100));
+        filter.addRule(rule("com.example.chatty", 3));
+        filter.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+    }
+    
+    @Test
+    void testMostSpecificRuleLimitsEventsPerSecond() {
+        Logger chatty = context.getLogger("com.example.chatty.Service");
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (filter.decide(null, chatty, Level.INFO, "событие {}", null, null) == FilterReply.NEUTRAL) {
+                accepted++;
+            }
+        }
+        // Все 10 событий могли прийтись на стык двух секунд
+        assertTrue(accepted >= 3 && accepted <= 6, "Принято событий: " + accepted);
+        assertTrue(filter.getRules().get(0).getDropped() > 0);
+        
+        // Соседний логгер подпадает под общее правило пакета
+        Logger other = context.getLogger("com.example.Other");
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, other, Level.INFO, "событие", null, null));
+    }
+    
+    @Test
+    void testWarningsChecksAndDisabledLevelsAreNotSampled() {
+        Logger chatty = context.getLogger("com.example.chatty.Service");
+        for (int i = 0; i < 10; i++) {
+            filter.decide(null, chatty, Level.INFO, "событие", null, null);
+        }
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, chatty, Level.WARN, "предупреждение", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, chatty, Level.ERROR, "ошибка", null, null));
+        // isDebugEnabled() вызывает фильтр без сообщения
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, chatty, Level.DEBUG, null, null, null));
+        
+        chatty.setLevel(Level.WARN);
+        long dropped = filter.getRules().get(0).getDropped();
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, chatty, Level.DEBUG, "выключено", null, null));
+        assertEquals(dropped, filter.getRules().get(0).getDropped());
+    }
+    
+    private static SamplingRule rule(String logger, int permitsPerSecond) {
+        SamplingRule rule = new SamplingRule();
+        rule.setLogger(logger);
+        rule.setPermitsPerSecond(permitsPerSecond);
+        return rule;
+    }
+}
@@ -0,0 +1,82 @@
+package com.guap.articlecatalog.metrics;
+
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.ratelimit.enabled=false", "app.admin.usernames=metrics_scraper"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class PrometheusMetricsTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Test
+    void testPrometheusEndpointRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void testPrometheusEndpointForbiddenForRegularUser() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("testuser", "password123")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("testuser", "password123")))
+                .andExpect(status().isForbidden());
+    }
+    
+    @Test
+    void testServiceTimersAndStatementCountsAreExported() throws Exception {
+        CatalogUserPrincipal principal = CatalogUserPrincipal.from(userRepository.findByUsername("testuser").orElseThrow());
+        mockMvc.perform(get("/articles").with(user(principal)))
+                .andExpect(status().isOk());
+        
+        String scrape = mockMvc.perform(get("/actuator/prometheus").with(httpBasic(scraperUsername(), "scrape-secret")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        
+        assertTrue(scrape.contains("catalog_service_seconds_bucket{class=\"com.guap.articlecatalog.service.impl.ArticleServiceImpl\""),
+                "Нет гистограммы времени методов сервиса");
+        assertTrue(scrape.contains("method=\"searchArticleSummaries\""));
+        assertTrue(scrape.contains("quantile=\"0.95\""));
+        assertTrue(scrape.contains("hibernate_statements_per_request_count{uri=\"/articles\""),
+                "Нет числа SQL-операторов на запрос");
+        assertTrue(scrape.contains("storage_transfer_bytes_total{direction=\"upload\""));
+        assertTrue(scrape.contains("storage_files "));
+    }
+    
+    // Администратор назначается свойством app.admin.usernames, а не ролью в БД
+    private String scraperUsername() {
+        if (userRepository.findByUsername("metrics_scraper").isEmpty()) {
+            User scraper = new User();
+            scraper.setUsername("metrics_scraper");
+            scraper.setEmail("metrics_scraper@example.com");
+            scraper.setPassword(passwordEncoder.encode("scrape-secret"));
+            scraper.setFullName("Metrics Scraper");
+            userRepository.save(scraper);
+        }
+        return "metrics_scraper";
+    }
+}
@@ -0,0 +1,38 @@
+package com.guap.articlecatalog.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StorageMetricsTest {
+    
+    @TempDir
+    Path uploadDir;
+    
+    @Test
+    void testScanAndTransferCounters() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StorageMetrics storageMetrics = new StorageMetrics(meterRegistry);
+        ReflectionTestUtils.setField(storageMetrics, "uploadDir", uploadDir.toString());
+        storageMetrics.init();
+        
+        Files.createDirectories(uploadDir.resolve("articles"));
+        Files.write(uploadDir.resolve("articles/a.pdf"), new byte[100]);
+        Files.write(uploadDir.resolve("avatar.png"), new byte[20]);
+        storageMetrics.scan();
+        storageMetrics.recordUpload(100);
+        storageMetrics.recordDownload(40);
+        storageMetrics.recordDownload(60);
+        
+        assertEquals(120.0, meterRegistry.get("storage.size").gauge().value());
+        assertEquals(2.0, meterRegistry.get("storage.files").gauge().value());
+        assertEquals(100.0, meterRegistry.get("storage.transfer").tag("direction", "upload").counter().count());
+        assertEquals(100.0, meterRegistry.get("storage.transfer").tag("direction", "download").counter().count());
+    }
+}
@@ -0,0 +1,62 @@
+package com.guap.articlecatalog.ratelimit;
+
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.ratelimit.download.capacity=2",
+        "app.ratelimit.download.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+public class RateLimitFilterTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    void testDownloadsOverLimitGet429WithRetryAfter() throws Exception {
+        User testUser = userRepository.findByUsername("testuser").orElseThrow();
+        CatalogUserPrincipal principal = CatalogUserPrincipal.from(testUser);
+        
+        for (int i = 0; i < 2; i++) {
+            int status = mockMvc.perform(get("/articles/download/{id}", Long.MAX_VALUE).with(user(principal)))
+                    .andReturn().getResponse().getStatus();
+            assertNotEquals(429, status);
+        }
+        
+        String retryAfter = mockMvc.perform(get("/articles/download/{id}", Long.MAX_VALUE).with(user(principal)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andReturn().getResponse().getHeader("Retry-After");
+        // Один токен при 0.01 в секунду - 100 секунд
+        assertEquals(100, Long.parseLong(retryAfter));
+        
+        // Поиск и страницы без лимитов не затронуты
+        mockMvc.perform(get("/articles").with(user(principal)))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/actuator/metrics/ratelimit.requests")
+                        .param("tag", "group:download")
+                        .param("tag", "outcome:throttled")
+                        .with(user("admin").authorities(new SimpleGrantedAuthority("ADMIN"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(1.0));
+    }
+}
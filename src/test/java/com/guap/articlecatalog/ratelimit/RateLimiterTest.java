@@ -0,0 +1,130 @@
+package com.guap.articlecatalog.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(meterRegistry);
+        setField("downloadCapacity", 3.0);
+        setField("downloadRefillPerSecond", 0.001);
+        setField("ipFactor", 2.0);
+        rateLimiter.init();
+    }
+    
+    @Test
+    void testTokenBucket_RefillsOverTime() {
+        long start = 0;
+        TokenBucket bucket = new TokenBucket(2, 1, start);
+        
+        assertEquals(0, bucket.tryConsume(start));
+        assertEquals(0, bucket.tryConsume(start));
+        long wait = bucket.tryConsume(start);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+        
+        // Через полсекунды токена ещё нет, через секунду - есть
+        assertTrue(bucket.tryConsume(start + TimeUnit.MILLISECONDS.toNanos(500)) > 0);
+        assertEquals(0, bucket.tryConsume(start + TimeUnit.SECONDS.toNanos(1)));
+    }
+    
+    @Test
+    void testAcquire_UserBucketIsPerPrincipal() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.acquire(RateLimitGroup.DOWNLOAD, "alice", "10.0.0.1"));
+        }
+        
+        assertTrue(rateLimiter.acquire(RateLimitGroup.DOWNLOAD, "alice", "10.0.0.1") > 0);
+        assertEquals(0, rateLimiter.acquire(RateLimitGroup.DOWNLOAD, "bob", "10.0.0.2"));
+        // Другие группы считаются отдельно
+        assertEquals(0, rateLimiter.acquire(RateLimitGroup.SEARCH, "alice", "10.0.0.1"));
+        
+        assertEquals(1.0, meterRegistry.get("ratelimit.requests")
+                .tag("group", "download").tag("outcome", "throttled").counter().count());
+        assertEquals(4.0, meterRegistry.get("ratelimit.requests")
+                .tag("group", "download").tag("outcome", "allowed").counter().count());
+    }
+    
+    @Test
+    void testAcquire_IpBucketSharedByUsers() {
+        // Корзина адреса: 3 * ip-factor 2 = 6 запросов на всех пользователей с этого IP
+        for (int i = 0; i < 6; i++) {
+            assertEquals(0, rateLimiter.acquire(RateLimitGroup.DOWNLOAD, "user" + i, "10.0.0.9"));
+        }
+        
+        assertTrue(rateLimiter.acquire(RateLimitGroup.DOWNLOAD, "user7", "10.0.0.9") > 0);
+        // Токен пользователя возвращён: с другого адреса у него полный запас
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.acquire(RateLimitGroup.DOWNLOAD, "user7", "10.0.0.10"));
+        }
+    }
+    
+    @Test
+    void testAcquire_AnonymousUsesIpBucketOnly() {
+        for (int i = 0; i < 6; i++) {
+            assertEquals(0, rateLimiter.acquire(RateLimitGroup.DOWNLOAD, null, "10.0.0.3"));
+        }
+        assertTrue(rateLimiter.acquire(RateLimitGroup.DOWNLOAD, null, "10.0.0.3") > 0);
+    }
+    
+    @Test
+    void testBucketMap_BoundedAndEvicted() throws Exception {
+        setField("maxBuckets", 10);
+        for (int i = 0; i < 50; i++) {
+            rateLimiter.acquire(RateLimitGroup.SEARCH, "user" + i, "10.1.0." + i);
+        }
+        assertEquals(10, rateLimiter.getBucketCount());
+        
+        setField("idleEvictionMs", 0L);
+        Thread.sleep(1);
+        rateLimiter.evictIdle();
+        
+        assertEquals(0, rateLimiter.getBucketCount());
+        assertEquals(10.0, meterRegistry.get("ratelimit.buckets.evicted").tag("reason", "idle").counter().count());
+    }
+    
+    @Test
+    void testBucketMap_FullMapDropsLongestIdleBuckets() throws Exception {
+        setField("maxBuckets", 4);
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(0, rateLimiter.acquire(RateLimitGroup.DOWNLOAD, null, "10.2.0." + i));
+            Thread.sleep(2);
+        }
+        // Второй токен первого адреса: дольше всех простаивают 10.2.0.2 и 10.2.0.3
+        assertEquals(0, rateLimiter.acquire(RateLimitGroup.DOWNLOAD, null, "10.2.0.1"));
+        Thread.sleep(2);
+        
+        // Новые адреса при полной карте получают собственные полные корзины
+        for (String address : new String[] {"10.2.0.5", "10.2.0.6"}) {
+            for (int i = 0; i < 6; i++) {
+                assertEquals(0, rateLimiter.acquire(RateLimitGroup.DOWNLOAD, null, address));
+            }
+            assertTrue(rateLimiter.acquire(RateLimitGroup.DOWNLOAD, null, address) > 0);
+            Thread.sleep(2);
+        }
+        
+        assertEquals(4, rateLimiter.getBucketCount());
+        assertEquals(2.0, meterRegistry.get("ratelimit.buckets.evicted").tag("reason", "full").counter().count());
+        // Корзина недавно использованного адреса сохранилась: из 6 токенов потрачено 2
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, rateLimiter.acquire(RateLimitGroup.DOWNLOAD, null, "10.2.0.1"));
+        }
+        assertTrue(rateLimiter.acquire(RateLimitGroup.DOWNLOAD, null, "10.2.0.1") > 0);
+    }
+    
+    private void setField(String name, Object value) throws Exception {
+        var field = RateLimiter.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(rateLimiter, value);
+    }
+}
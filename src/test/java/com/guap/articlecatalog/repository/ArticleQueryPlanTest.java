@@ -0,0 +1,138 @@
+package com.guap.articlecatalog.repository;
+
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Запросы списков должны читать статьи по индексам из V2__article_indexes.sql.
+ * SQL берётся у Hibernate, план - из EXPLAIN самой H2.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.guap.articlecatalog.repository.SqlCapturingInspector")
+public class ArticleQueryPlanTest {
+    
+    private static final Pageable PAGE = PageRequest.of(0, 10, Sort.by("uploadDate").descending());
+    
+    @Autowired
+    private ArticleRepository articleRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final List<User> seededUsers = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        // Несколько авторов и тем, чтобы у оптимизатора была статистика по селективности
+        List<Article> articles = new ArrayList<>();
+        for (int u = 0; u < 4; u++) {
+            User uploader = new User();
+            uploader.setUsername("plan_user_" + u);
+            uploader.setEmail("plan_user_" + u + "@example.com");
+            uploader.setPassword("encodedPassword");
+            uploader.setFullName("Plan User " + u);
+            uploader = userRepository.save(uploader);
+            seededUsers.add(uploader);
+            
+            for (int a = 0; a < 50; a++) {
+                Article article = new Article();
+                article.setTitle("Article " + u + "-" + a);
+                article.setAuthors("Author " + a);
+                article.setTopic("Topic " + (a % 10));
+                article.setPdfFilePath("missing.pdf");
+                article.setUser(uploader);
+                articles.add(article);
+            }
+        }
+        articleRepository.saveAll(articles);
+        jdbcTemplate.execute("ANALYZE");
+        SqlCapturingInspector.statements.clear();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        for (User uploader : seededUsers) {
+            articleRepository.deleteAll(articleRepository.findByUser(uploader));
+            userRepository.delete(uploader);
+        }
+    }
+    
+    @Test
+    void testCatalogListingUsesUploadDateIndex() {
+        articleRepository.searchArticleSummaries(null, null, null, PAGE);
+        
+        assertPlanUsesIndex(pageQuery(), "IDX_ARTICLES_UPLOAD_DATE");
+    }
+    
+    @Test
+    void testUserListingUsesUserIndex() {
+        articleRepository.findSummariesByUser(seededUsers.get(0), PAGE);
+        
+        // H2 выбирает меньший индекс внешнего ключа (по параметру или через соединение с users),
+        // важно лишь, что статьи ищутся по user_id
+        String plan = explain(pageQuery());
+        assertTrue(plan.matches("(?s).*/\\* PUBLIC\\.\\w+: USER_ID = .*"), () -> "Ожидался поиск по индексу user_id:\n" + plan);
+        assertFalse(plan.contains("ARTICLES.tableScan"), () -> "Полный просмотр articles:\n" + plan);
+    }
+    
+    @Test
+    void testTopicListingUsesTopicIndex() {
+        articleRepository.findSummariesByTopic("Topic 3", PAGE);
+        
+        assertPlanUsesIndex(pageQuery(), "IDX_ARTICLES_TOPIC_UPLOAD");
+    }
+    
+    @Test
+    void testKeysetFeedPagesUseUploadDateIndexes() {
+        LocalDateTime cursorDate = LocalDateTime.now();
+        articleRepository.findSummariesAfter(cursorDate, Long.MAX_VALUE, PageRequest.of(0, 21));
+        assertPlanUsesIndex(pageQuery(), "IDX_ARTICLES_UPLOAD_DATE");
+        
+        SqlCapturingInspector.statements.clear();
+        articleRepository.findSummariesByTopicAfter("Topic 3", cursorDate, Long.MAX_VALUE, PageRequest.of(0, 21));
+        assertPlanUsesIndex(pageQuery(), "IDX_ARTICLES_TOPIC_UPLOAD");
+    }
+    
+    @Test
+    void testTopicCountsUseTopicIndex() {
+        articleRepository.countArticlesByTopic();
+        
+        assertPlanUsesIndex(SqlCapturingInspector.statements.get(0), "IDX_ARTICLES_TOPIC_UPLOAD");
+    }
+    
+    private String pageQuery() {
+        return SqlCapturingInspector.statements.stream()
+                .filter(sql -> sql.contains("order by"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Запрос страницы не выполнялся"));
+    }
+    
+    private void assertPlanUsesIndex(String sql, String indexName) {
+        String plan = explain(sql);
+        assertTrue(plan.contains("PUBLIC." + indexName), () -> "Ожидался индекс " + indexName + ":\n" + plan);
+        assertFalse(plan.contains("ARTICLES.tableScan"), () -> "Полный просмотр articles:\n" + plan);
+    }
+    
+    private String explain(String sql) {
+        // EXPLAIN в H2 не требует значений параметров
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -0,0 +1,20 @@
+package com.guap.articlecatalog.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Запоминает SQL, который Hibernate отправляет в базу, чтобы тест мог получить его план.
+ */
+public class SqlCapturingInspector implements StatementInspector {
+    
+    static final List<String> statements = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+}
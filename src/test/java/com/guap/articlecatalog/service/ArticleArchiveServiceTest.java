@@ -0,0 +1,136 @@
+package com.guap.articlecatalog.service;
+
+import com.guap.articlecatalog.dto.ArticleFileRef;
+import com.guap.articlecatalog.metrics.StorageMetrics;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.service.impl.ArticleArchiveServiceImpl;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleArchiveServiceTest {
+    
+    @Mock
+    private ArticleRepository articleRepository;
+    
+    @Mock
+    private StorageMetrics storageMetrics;
+    
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+    
+    @InjectMocks
+    private ArticleArchiveServiceImpl archiveService;
+    
+    @TempDir
+    Path storage;
+    
+    @Test
+    void testWriteArchive_StoredEntriesWithOriginalContent() throws Exception {
+        byte[] first = randomBytes(200_000, 1);
+        byte[] second = randomBytes(10, 2);
+        List<ArticleFileRef> files = List.of(
+                new ArticleFileRef(1L, "paper.pdf", write("a.pdf", first).toString()),
+                new ArticleFileRef(2L, "paper.pdf", write("b.pdf", second).toString()));
+        
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int written = archiveService.writeArchive(files, output);
+        
+        assertEquals(2, written);
+        Map<String, byte[]> entries = readZip(output.toByteArray(), true);
+        // Одинаковые имена файлов различаются по id статьи
+        assertEquals(List.of("1_paper.pdf", "2_paper.pdf"), List.copyOf(entries.keySet()));
+        assertArrayEquals(first, entries.get("1_paper.pdf"));
+        assertArrayEquals(second, entries.get("2_paper.pdf"));
+    }
+    
+    @Test
+    void testWriteArchive_ListsMissingFiles() throws Exception {
+        List<ArticleFileRef> files = List.of(
+                new ArticleFileRef(1L, "present.pdf", write("present.pdf", randomBytes(100, 3)).toString()),
+                new ArticleFileRef(2L, "gone.pdf", storage.resolve("gone.pdf").toString()));
+        
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(1, archiveService.writeArchive(files, output));
+        
+        Map<String, byte[]> entries = readZip(output.toByteArray(), false);
+        assertTrue(entries.containsKey("1_present.pdf"));
+        String missing = new String(entries.get("MISSING.txt"), StandardCharsets.UTF_8);
+        assertTrue(missing.contains("2: gone.pdf"));
+    }
+    
+    @Test
+    void testWriteArchive_SanitizesEntryNames() throws Exception {
+        List<ArticleFileRef> files = List.of(
+                new ArticleFileRef(7L, "../../etc/passwd.pdf", write("x.pdf", randomBytes(5, 4)).toString()));
+        
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        archiveService.writeArchive(files, output);
+        
+        assertEquals(List.of("7_.._.._etc_passwd.pdf"), List.copyOf(readZip(output.toByteArray(), true).keySet()));
+    }
+    
+    @Test
+    void testFindUserFiles_RejectsTooManyFiles() {
+        User user = new User();
+        List<ArticleFileRef> tooMany = LongStream.rangeClosed(1, 501)
+                .mapToObj(id -> new ArticleFileRef(id, id + ".pdf", id + ".pdf"))
+                .collect(Collectors.toList());
+        when(articleRepository.findFileRefsByUser(eq(user), any(Pageable.class))).thenReturn(tooMany);
+        
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> archiveService.findUserFiles(user, null));
+        assertTrue(exception.getMessage().contains("500"));
+    }
+    
+    private Path write(String name, byte[] content) throws Exception {
+        return Files.write(storage.resolve(name), content);
+    }
+    
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+    
+    private static Map<String, byte[]> readZip(byte[] archive, boolean expectStored) throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (expectStored) {
+                    assertEquals(ZipEntry.STORED, entry.getMethod());
+                }
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,122 @@
+package com.guap.articlecatalog.service;
+
+import com.guap.articlecatalog.export.ExportFormat;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.service.impl.ArticleExportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleExportServiceTest {
+    
+    @Mock
+    private ArticleRepository articleRepository;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @InjectMocks
+    private ArticleExportServiceImpl exportService;
+    
+    private User user;
+    
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+    }
+    
+    @Test
+    void testExportCsv_QuotesSpecialCharacters() throws Exception {
+        Article article = createArticle(1L, "Title, with \"quotes\"");
+        when(articleRepository.streamAllForExport()).thenReturn(Stream.of(article));
+        
+        String csv = export(ExportFormat.CSV);
+        
+        String[] lines = csv.split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,title,authors"));
+        assertTrue(lines[1].startsWith("1,\"Title, with \"\"quotes\"\"\",Ivanov I.,2023,"));
+        assertTrue(lines[1].endsWith(",testuser"));
+    }
+    
+    @Test
+    void testExportNdjson_OneObjectPerLine() throws Exception {
+        when(articleRepository.streamAllForExport())
+                .thenReturn(Stream.of(createArticle(1L, "First"), createArticle(2L, "Second")));
+        
+        String ndjson = export(ExportFormat.NDJSON);
+        
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"title\":\"First\""));
+        assertTrue(lines[1].startsWith("{\"id\":2,\"title\":\"Second\""));
+        assertTrue(ndjson.endsWith("}\n"));
+    }
+    
+    @Test
+    void testExportBibtex_EscapesAndJoinsAuthors() throws Exception {
+        Article article = createArticle(7L, "50% of {data}");
+        article.setAuthors("Ivanov I., Petrov P.");
+        when(articleRepository.streamAllForExport()).thenReturn(Stream.of(article));
+        
+        String bibtex = export(ExportFormat.BIBTEX);
+        
+        assertTrue(bibtex.startsWith("@article{catalog7,\n"));
+        assertTrue(bibtex.contains("title = {50\\% of \\{data\\}},"));
+        assertTrue(bibtex.contains("author = {Ivanov I. and Petrov P.},"));
+        assertTrue(bibtex.contains("year = {2023},"));
+    }
+    
+    @Test
+    void testExport_ClearsPersistenceContextInChunks() throws Exception {
+        when(articleRepository.streamAllForExport()).thenReturn(
+                LongStream.rangeClosed(1, 1200).mapToObj(id -> createArticle(id, "Article " + id)));
+        
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = exportService.exportCatalog(ExportFormat.CSV, output);
+        
+        assertEquals(1200, count);
+        verify(entityManager, times(2)).clear();
+    }
+    
+    @Test
+    void testExportFormat_RejectsUnknownFormat() {
+        assertEquals(ExportFormat.CSV, ExportFormat.fromParameter(null));
+        assertEquals(ExportFormat.BIBTEX, ExportFormat.fromParameter("bibtex"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromParameter("xml"));
+    }
+    
+    private String export(ExportFormat format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.exportCatalog(format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+    
+    private Article createArticle(Long id, String title) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setAuthors("Ivanov I.");
+        article.setPublicationYear(2023);
+        article.setTopic("Информатика");
+        article.setUser(user);
+        return article;
+    }
+}
@@ -0,0 +1,296 @@
+package com.guap.articlecatalog.service;
+
+import com.guap.articlecatalog.importer.ImportEntryResult;
+import com.guap.articlecatalog.importer.ImportJob;
+import com.guap.articlecatalog.metrics.StorageMetrics;
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.service.impl.ArticleImportServiceImpl;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleImportServiceTest {
+    
+    @Mock
+    private ArticleService articleService;
+    
+    @Mock
+    private ArticleRepository articleRepository;
+    
+    @Mock
+    private StorageMetrics storageMetrics;
+    
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+    
+    @InjectMocks
+    private ArticleImportServiceImpl importService;
+    
+    @TempDir
+    Path uploadDir;
+    
+    private User owner;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = new User();
+        owner.setId(1L);
+        owner.setUsername("testuser");
+        
+        setField("uploadDir", uploadDir.toString());
+        setField("maxFileSize", 1024L);
+        setField("threads", 2);
+        setField("maxInFlight", 2);
+        setField("batchSize", 2);
+        importService.init();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+    
+    @Test
+    void testImportArchive_ImportsValidEntriesInBatches() throws IOException {
+        when(articleRepository.findContentHashesByUser(owner)).thenReturn(List.of());
+        when(articleService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Article> articles = invocation.getArgument(0);
+            articles.forEach(article -> article.setId((long) article.getTitle().hashCode()));
+            return articles.size();
+        });
+        
+        InputStream archive = zip(Map.of(
+                "papers/p1.pdf", "%PDF-1.4 one",
+                "papers/p2.pdf", "%PDF-1.4 two",
+                "papers/p3.pdf", "%PDF-1.4 three",
+                "papers/bad.pdf", "not a pdf",
+                "papers/unknown.pdf", "%PDF-1.4 unknown"));
+        String manifest = "file,title,authors,publicationYear,keywords,topic\n" +
+                "p1.pdf,\"Paper, one\",Ivanov,2020,ml,AI\n" +
+                "papers/p2.pdf,Paper two,Petrov,,,AI\n" +
+                "p3.pdf,Paper three,Sidorov,2021,,Physics\n" +
+                "bad.pdf,Bad,Nobody,,,\n";
+        
+        ImportJob job = importService.importArchive(owner, archive, stream(manifest), "manifest.csv", "job-1");
+        
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getImported());
+        assertEquals(1, job.getSkipped());
+        assertEquals(1, job.getFailed());
+        assertEquals(ImportEntryResult.Status.FAILED, statusOf(job, "papers/bad.pdf"));
+        assertEquals(ImportEntryResult.Status.SKIPPED, statusOf(job, "papers/unknown.pdf"));
+        
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Article>> batches = ArgumentCaptor.forClass(List.class);
+        verify(articleService, times(2)).saveAll(batches.capture());
+        List<Article> saved = batches.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(3, saved.size());
+        assertTrue(saved.stream().allMatch(article -> article.getContentHash() != null && article.getUser() == owner));
+        assertTrue(saved.stream().anyMatch(article -> "Paper, one".equals(article.getTitle())));
+        assertEquals(3, Files.list(uploadDir.resolve("articles")).count());
+    }
+    
+    @Test
+    void testImportArchive_BrokenArchiveLeavesOnlySavedFiles() throws IOException {
+        when(articleRepository.findContentHashesByUser(owner)).thenReturn(List.of());
+        List<Article> saved = new CopyOnWriteArrayList<>();
+        // Сколько порций успеет сохраниться до обрыва, зависит от пула
+        lenient().when(articleService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Article> articles = invocation.getArgument(0);
+            articles.forEach(article -> article.setId((long) saved.size() + 1));
+            saved.addAll(articles);
+            return articles.size();
+        });
+        
+        Map<String, String> entries = new LinkedHashMap<>();
+        StringBuilder manifest = new StringBuilder("file,title,authors\n");
+        for (int i = 1; i <= 6; i++) {
+            entries.put("p" + i + ".pdf", "%PDF-1.4 paper " + i);
+            manifest.append("p").append(i).append(".pdf,Paper ").append(i).append(",Ivanov\n");
+        }
+        byte[] archive = zip(entries).readAllBytes();
+        // Архив обрывается на заголовке шестого файла: пять файлов уже прочитаны, порция из двух - нет
+        int brokenAt = indexOf(archive, "p6.pdf".getBytes(StandardCharsets.US_ASCII));
+        
+        ImportJob job = importService.importArchive(owner, failingAfter(archive, brokenAt),
+                stream(manifest.toString()), "manifest.csv", null);
+        
+        assertEquals(ImportJob.Status.FAILED, job.getStatus());
+        assertTrue(saved.size() < 5, "Часть прочитанных файлов не должна успеть сохраниться");
+        try (var files = Files.list(uploadDir.resolve("articles"))) {
+            assertEquals(saved.stream().map(Article::getPdfFilePath).collect(Collectors.toSet()),
+                    files.map(Path::toString).collect(Collectors.toSet()));
+        }
+        assertEquals(saved.size(), job.getImported());
+    }
+    
+    @Test
+    void testImportArchive_SkipsAlreadyImportedFiles() throws IOException {
+        // SHA-256 от "%PDF-1.4 one"
+        String knownHash = HexFormat.of().formatHex(sha256("%PDF-1.4 one"));
+        when(articleRepository.findContentHashesByUser(owner)).thenReturn(List.of(knownHash));
+        
+        ImportJob job = importService.importArchive(owner, zip(Map.of("p1.pdf", "%PDF-1.4 one")),
+                stream("file,title,authors\np1.pdf,Paper one,Ivanov\n"), "manifest.csv", null);
+        
+        assertEquals(0, job.getImported());
+        assertEquals(1, job.getSkipped());
+        verify(articleService, never()).saveAll(anyList());
+    }
+    
+    @Test
+    void testImportArchive_ResumedRunReusesFileLeftByCrashedRun() throws IOException {
+        when(articleRepository.findContentHashesByUser(owner)).thenReturn(List.of());
+        when(articleService.saveAll(anyList())).thenReturn(1);
+        // Прошлый запуск записал файл, но упал до сохранения статьи
+        Path articles = Files.createDirectories(uploadDir.resolve("articles"));
+        Path leftover = articles.resolve("import_1_" + HexFormat.of().formatHex(sha256("%PDF-1.4 one")) + ".pdf");
+        Files.writeString(leftover, "%PDF-1.4 one");
+        
+        ImportJob job = importService.importArchive(owner, zip(Map.of("p1.pdf", "%PDF-1.4 one")),
+                stream("file,title,authors\np1.pdf,Paper one,Ivanov\n"), "manifest.csv", null);
+        
+        assertEquals(1, job.getImported());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Article>> batch = ArgumentCaptor.forClass(List.class);
+        verify(articleService).saveAll(batch.capture());
+        assertEquals(leftover.toString(), batch.getValue().get(0).getPdfFilePath());
+        try (var files = Files.list(articles)) {
+            assertEquals(List.of(leftover), files.toList());
+        }
+    }
+    
+    @Test
+    void testImportArchive_ReportsConfiguredSizeLimit() {
+        when(articleRepository.findContentHashesByUser(owner)).thenReturn(List.of());
+        
+        ImportJob job = importService.importArchive(owner, zip(Map.of("big.pdf", "%PDF-1.4 " + "x".repeat(2048))),
+                stream("file,title,authors\nbig.pdf,Big,Ivanov\n"), "manifest.csv", null);
+        
+        assertEquals(1, job.getFailed());
+        assertEquals("Файл слишком большой (максимум 1024 байт)", job.getEntries().get(0).getMessage());
+    }
+    
+    @Test
+    void testImportArchive_InvalidManifestFailsJob() {
+        ImportJob job = importService.importArchive(owner, zip(Map.of()),
+                stream("title,authors\nPaper,Author\n"), "manifest.csv", null);
+        
+        assertEquals(ImportJob.Status.FAILED, job.getStatus());
+        assertEquals("В заголовке манифеста нет колонки file", job.getError());
+    }
+    
+    @Test
+    void testGetJob() {
+        ImportJob job = importService.importArchive(owner, zip(Map.of()),
+                stream("[]"), "manifest.json", "job-2");
+        
+        assertSame(job, importService.getJob("job-2").orElseThrow());
+        assertTrue(importService.getJob("missing").isEmpty());
+    }
+    
+    private ImportEntryResult.Status statusOf(ImportJob job, String name) {
+        return job.getEntries().stream()
+                .collect(Collectors.toMap(ImportEntryResult::getName, ImportEntryResult::getStatus))
+                .get(name);
+    }
+    
+    private void setField(String name, Object value) throws Exception {
+        var field = ArticleImportServiceImpl.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(importService, value);
+    }
+    
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static InputStream zip(Map<String, String> entries) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(buffer)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return new ByteArrayInputStream(buffer.toByteArray());
+    }
+    
+    private static int indexOf(byte[] data, byte[] pattern) {
+        for (int i = 0; i <= data.length - pattern.length; i++) {
+            if (Arrays.equals(data, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Нет такой последовательности");
+    }
+    
+    // Отдаёт первые limit байт, дальше - ошибка чтения, как при оборванной загрузке
+    private static InputStream failingAfter(byte[] data, int limit) {
+        return new ByteArrayInputStream(data, 0, limit) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                int read = super.read(buffer, offset, length);
+                if (read == -1) {
+                    throw new UncheckedIOException(new IOException("Соединение оборвано"));
+                }
+                return read;
+            }
+            
+            @Override
+            public synchronized int read() {
+                int read = super.read();
+                if (read == -1) {
+                    throw new UncheckedIOException(new IOException("Соединение оборвано"));
+                }
+                return read;
+            }
+        };
+    }
+    
+    private static byte[] sha256(String content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.guap.articlecatalog.service;
+
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ArticlePurgeServiceTest {
+    
+    @Autowired
+    private ArticleService articleService;
+    
+    @Autowired
+    private ArticlePurgeService articlePurgeService;
+    
+    @Autowired
+    private ArticleRepository articleRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @TempDir
+    Path uploadDir;
+    
+    private User owner;
+    private Article article;
+    private Path pdfFile;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = new User();
+        owner.setUsername("purge_user");
+        owner.setEmail("purge_user@example.com");
+        owner.setPassword("encodedPassword");
+        owner.setFullName("Purge User");
+        owner = userRepository.save(owner);
+        
+        pdfFile = Files.write(uploadDir.resolve("purge.pdf"), "%PDF-1.4".getBytes());
+        article = new Article();
+        article.setTitle("To be purged");
+        article.setAuthors("Author");
+        article.setPdfFilePath(pdfFile.toString());
+        article.setUser(owner);
+        article = articleRepository.save(article);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM articles WHERE user_id = ?", owner.getId());
+        userRepository.delete(owner);
+    }
+    
+    @Test
+    void testDeletedArticleIsHiddenAndCanBeRestored() {
+        articleService.deleteArticle(article.getId(), owner);
+        
+        assertThrows(IllegalArgumentException.class, () -> articleService.getArticleById(article.getId()));
+        assertEquals(0, articleRepository.countByUser(owner));
+        assertTrue(Files.exists(pdfFile), "Файл удаляется только очисткой");
+        
+        articleService.restoreArticle(article.getId(), owner);
+        
+        assertEquals("To be purged", articleService.getArticleById(article.getId()).getTitle());
+    }
+    
+    @Test
+    void testPurgeRemovesRowsAndFilesAfterUndoWindow() {
+        articleService.deleteArticle(article.getId(), owner);
+        
+        // Удалена только что - ещё в окне отмены
+        articlePurgeService.purgeExpired();
+        assertEquals(1, countRows());
+        
+        Timestamp dayAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        jdbcTemplate.update("UPDATE articles SET deleted_at = ? WHERE id = ?", dayAgo, article.getId());
+        jdbcTemplate.update("UPDATE article_tombstones SET deleted_at = ? WHERE article_id = ?", dayAgo, article.getId());
+        
+        assertEquals(1, articlePurgeService.purgeExpired());
+        assertEquals(0, countRows());
+        assertFalse(Files.exists(pdfFile));
+        assertThrows(IllegalArgumentException.class, () -> articleService.restoreArticle(article.getId(), owner));
+    }
+    
+    @Test
+    void testPurgeKeepsFileOfArticleRestoredAfterSelection() {
+        articleService.deleteArticle(article.getId(), owner);
+        
+        // Статья восстановлена, а просроченная отметка ещё в очереди: так выглядит
+        // восстановление между выборкой кандидатов и удалением
+        Timestamp dayAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        jdbcTemplate.update("UPDATE articles SET deleted_at = NULL WHERE id = ?", article.getId());
+        jdbcTemplate.update("UPDATE article_tombstones SET deleted_at = ? WHERE article_id = ?", dayAgo, article.getId());
+        
+        assertEquals(0, articlePurgeService.purgeExpired());
+        assertEquals(1, countRows());
+        assertTrue(Files.exists(pdfFile), "Файл восстановленной статьи не удаляется");
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM article_tombstones WHERE article_id = ?", Integer.class, article.getId()));
+    }
+    
+    private int countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM articles WHERE id = ?", Integer.class, article.getId());
+    }
+}
@@ -0,0 +1,127 @@
+package com.guap.articlecatalog.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.guap.articlecatalog.dto.ApiFields;
+import com.guap.articlecatalog.dto.ArticleSummary;
+import com.guap.articlecatalog.dto.SearchStreamRequest;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.service.impl.ArticleSearchStreamServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleSearchStreamServiceTest {
+    
+    @Mock
+    private ArticleRepository articleRepository;
+    
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setFilterProvider(ApiFields.defaultFilters());
+    
+    @InjectMocks
+    private ArticleSearchStreamServiceImpl searchStreamService;
+    
+    @Test
+    void testStreamSearch_WritesOneObjectPerLine() throws Exception {
+        when(articleRepository.streamArticleSummaries(null, "AI", null)).thenReturn(summaries(3));
+        
+        List<JsonNode> lines = search(new SearchStreamRequest(null, "AI", null, null, null), null);
+        
+        assertEquals(3, lines.size());
+        assertEquals(3, lines.get(0).get("id").asLong());
+        assertEquals("user", lines.get(0).get("username").asText());
+        assertFalse(lines.get(2).has("truncated"));
+    }
+    
+    @Test
+    void testStreamSearch_RowBudgetStopsCursorAndMarksTruncated() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicLong read = new AtomicLong();
+        when(articleRepository.streamArticleSummaries(null, null, "ml"))
+                .thenReturn(summaries(1000).peek(s -> read.incrementAndGet()).onClose(() -> closed.set(true)));
+        
+        List<JsonNode> lines = search(new SearchStreamRequest(null, null, "ml", 5L, null), null);
+        
+        assertEquals(6, lines.size());
+        JsonNode last = lines.get(5);
+        assertTrue(last.get("truncated").asBoolean());
+        assertEquals("rows", last.get("reason").asText());
+        assertEquals(5, last.get("count").asLong());
+        // Курсор дочитан только до следующей за бюджетом строки и закрыт
+        assertEquals(6, read.get());
+        assertTrue(closed.get());
+    }
+    
+    @Test
+    void testStreamSearch_TimeBudgetStopsEarly() throws Exception {
+        Stream<ArticleSummary> slow = summaries(1000).peek(s -> sleep(5));
+        when(articleRepository.streamArticleSummaries(null, null, null)).thenReturn(slow);
+        
+        List<JsonNode> lines = search(new SearchStreamRequest(null, null, null, null, 50L), null);
+        
+        JsonNode last = lines.get(lines.size() - 1);
+        assertEquals("time", last.get("reason").asText());
+        assertTrue(lines.size() < 100);
+    }
+    
+    @Test
+    void testStreamSearch_FieldsProjection() throws Exception {
+        when(articleRepository.streamArticleSummaries(null, null, null)).thenReturn(summaries(2));
+        
+        List<JsonNode> lines = search(new SearchStreamRequest(null, null, null, null, null),
+                "id,title");
+        
+        List<String> names = new ArrayList<>();
+        lines.get(0).fieldNames().forEachRemaining(names::add);
+        assertEquals(List.of("id", "title"), names);
+    }
+    
+    private List<JsonNode> search(SearchStreamRequest request, String fields) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        searchStreamService.streamSearch(request, ApiFields.filters(fields, ApiFields.ARTICLE_FIELDS), output);
+        
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+    
+    private Stream<ArticleSummary> summaries(int count) {
+        return LongStream.rangeClosed(1, count)
+                .map(i -> count + 1 - i)
+                .mapToObj(id -> new ArticleSummary(id, "Title " + id, "Author", 2024, "ml", "AI",
+                        LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id), 1L, "user"));
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package com.guap.articlecatalog.service;
 
+import com.guap.articlecatalog.cache.TopicRegistry;
+import com.guap.articlecatalog.dto.ArticleSummary;
+import com.guap.articlecatalog.event.ArticleChangedEvent;
+import com.guap.articlecatalog.event.ArticleCountsChangedEvent;
+import com.guap.articlecatalog.metrics.StorageMetrics;
 import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.ArticleTombstone;
 import com.guap.articlecatalog.model.User;
 import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.repository.ArticleTombstoneRepository;
 import com.guap.articlecatalog.service.impl.ArticleServiceImpl;
+import com.guap.articlecatalog.stats.CatalogStatistics;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -17,8 +30,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +47,27 @@ public class ArticleServiceTest {
     @Mock
     private ArticleRepository articleRepository;
     
+    @Mock
+    private TopicRegistry topicRegistry;
+    
+    @Mock
+    private CatalogStatistics catalogStatistics;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private ArticleTombstoneRepository tombstoneRepository;
+    
+    @Mock
+    private StorageMetrics storageMetrics;
+    
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+    
     @InjectMocks
     private ArticleServiceImpl articleService;
     
@@ -171,6 +208,30 @@ public class ArticleServiceTest {
         verify(articleRepository, never()).save(any(Article.class));
     }
     
+    @Test
+    void testSaveAll_FlushesAndClearsInChunks() {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Article article = new Article();
+            article.setTitle("Bulk " + i);
+            article.setUser(testUser);
+            articles.add(article);
+        }
+        
+        int saved = articleService.saveAll(articles);
+        
+        assertEquals(120, saved);
+        verify(articleRepository, times(120)).save(any(Article.class));
+        // Одно сводное событие вместо события на каждую статью
+        ArgumentCaptor<ArticleCountsChangedEvent> event = ArgumentCaptor.forClass(ArticleCountsChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(120, event.getValue().getTotalDelta());
+        assertEquals(Map.of(testUser.getId(), 120L), event.getValue().getUserDeltas());
+        // Две полные порции по 50 и остаток
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+    
     @Test
     void testGetArticleById_Exists() {
         when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
@@ -265,11 +326,62 @@ public class ArticleServiceTest {
         assertEquals("Test Article", result.getContent().get(0).getTitle());
     }
     
+    @Test
+    void testSearchArticleSummaries() {
+        ArticleSummary summary = new ArticleSummary(1L, "Test Article", "Test Author", 2024,
+                "test, java, spring", "Programming", null, 1L, "testuser");
+        Page<ArticleSummary> summaryPage = new PageImpl<>(List.of(summary));
+        
+        when(articleRepository.searchArticleSummaries(eq("Author"), eq("Programming"), eq("java"), any(Pageable.class)))
+            .thenReturn(summaryPage);
+        
+        Page<ArticleSummary> result = articleService.searchArticleSummaries("Author", "Programming", "java", PageRequest.of(0, 10));
+        
+        assertEquals(1, result.getContent().size());
+        assertEquals("testuser", result.getContent().get(0).getUsername());
+        verify(articleRepository, never()).searchArticles(any(), any(), any(), any(Pageable.class));
+    }
+    
+    @Test
+    void testSearchArticleSummaries_TopicOnlyUsesTopicQuery() {
+        when(articleRepository.findSummariesByTopic(eq("Programming"), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of()));
+        
+        articleService.searchArticleSummaries("", "Programming", null, PageRequest.of(0, 10));
+        
+        verify(articleRepository).findSummariesByTopic(eq("Programming"), any(Pageable.class));
+        verify(articleRepository, never()).searchArticleSummaries(any(), any(), any(), any(Pageable.class));
+    }
+    
+    @Test
+    void testGetUserArticleSummaries() {
+        ArticleSummary summary = new ArticleSummary(1L, "Test Article", "Test Author", 2024,
+                null, null, null, 1L, "testuser");
+        
+        when(articleRepository.findSummariesByUser(eq(testUser), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(summary)));
+        
+        Page<ArticleSummary> result = articleService.getUserArticleSummaries(testUser, PageRequest.of(0, 10));
+        
+        assertEquals(1, result.getTotalElements());
+        assertEquals(1L, result.getContent().get(0).getUserId());
+    }
+    
+    @Test
+    void testSearchUserArticleSummaries() {
+        when(articleRepository.searchUserArticleSummaries(eq(testUser), eq("test"), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of()));
+        
+        Page<ArticleSummary> result = articleService.searchUserArticleSummaries(testUser, "test", PageRequest.of(0, 10));
+        
+        assertTrue(result.isEmpty());
+    }
+    
     @Test
     void testGetAllTopics() {
         List<String> topics = Arrays.asList("Programming", "Science", "Technology", "Database");
         
-        when(articleRepository.findAllTopics()).thenReturn(topics);
+        when(topicRegistry.getTopics()).thenReturn(topics);
         
         List<String> result = articleService.getAllTopics();
         
@@ -278,34 +390,85 @@ public class ArticleServiceTest {
         assertTrue(result.contains("Programming"));
         assertTrue(result.contains("Database"));
         assertFalse(result.contains("Unknown"));
+        verify(topicRegistry).getTopics();
+        verifyNoInteractions(articleRepository);
     }
     
     @Test
     void testGetUserArticlesCount() {
-        when(articleRepository.countByUser(testUser)).thenReturn(5L);
+        when(catalogStatistics.getUserArticles(testUser.getId())).thenReturn(5L);
         
         long count = articleService.getUserArticlesCount(testUser);
         
         assertEquals(5L, count);
+        verify(articleRepository, never()).countByUser(any(User.class));
     }
     
     @Test
     void testGetTotalArticlesCount() {
-        when(articleRepository.count()).thenReturn(100L);
+        when(catalogStatistics.getTotalArticles()).thenReturn(100L);
         
         long count = articleService.getTotalArticlesCount();
         
         assertEquals(100L, count);
+        verify(articleRepository, never()).count();
     }
     
     @Test
     void testDeleteArticle_Success() {
         when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
-        doNothing().when(articleRepository).delete(any(Article.class));
         
         articleService.deleteArticle(1L, testUser);
         
-        verify(articleRepository, times(1)).delete(testArticle);
+        // Мягкое удаление: отметка вместо удаления строки
+        assertNotNull(testArticle.getDeletedAt());
+        verify(articleRepository, times(1)).save(testArticle);
+        verify(articleRepository, never()).delete(any(Article.class));
+        verify(tombstoneRepository).save(any(ArticleTombstone.class));
+        verify(eventPublisher).publishEvent(any(ArticleChangedEvent.class));
+    }
+    
+    @Test
+    void testGetArticleById_DeletedArticleNotFound() {
+        testArticle.setDeletedAt(LocalDateTime.now());
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
+        
+        assertThrows(IllegalArgumentException.class, () -> articleService.getArticleById(1L));
+    }
+    
+    @Test
+    void testRestoreArticle_Success() {
+        testArticle.setDeletedAt(LocalDateTime.now().minusMinutes(1));
+        when(articleRepository.findDeletedById(1L)).thenReturn(Optional.of(testArticle));
+        when(articleRepository.save(testArticle)).thenReturn(testArticle);
+        
+        articleService.restoreArticle(1L, testUser);
+        
+        assertNull(testArticle.getDeletedAt());
+        verify(tombstoneRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(any(ArticleChangedEvent.class));
+    }
+    
+    @Test
+    void testRestoreArticle_UndoWindowExpired() {
+        testArticle.setDeletedAt(LocalDateTime.now().minusDays(1));
+        when(articleRepository.findDeletedById(1L)).thenReturn(Optional.of(testArticle));
+        
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            articleService.restoreArticle(1L, testUser);
+        });
+        
+        assertEquals("Срок отмены удаления истёк", exception.getMessage());
+        verify(articleRepository, never()).save(any(Article.class));
+    }
+    
+    @Test
+    void testRestoreArticle_WrongUser() {
+        testArticle.setDeletedAt(LocalDateTime.now());
+        when(articleRepository.findDeletedById(1L)).thenReturn(Optional.of(testArticle));
+        
+        assertThrows(IllegalArgumentException.class, () -> articleService.restoreArticle(1L, anotherUser));
+        verify(articleRepository, never()).save(any(Article.class));
     }
     
     @Test
@@ -0,0 +1,173 @@
+package com.guap.articlecatalog.service;
+
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.ArticleRepository;
+import com.guap.articlecatalog.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Кэш второго уровня: повторное чтение обслуживается кэшем,
+ * а после изменения следующее чтение видит новое состояние.
+ */
+@SpringBootTest
+public class SecondLevelCacheTest {
+    
+    private static final String USER_REGION = User.class.getName();
+    private static final String ARTICLE_REGION = Article.class.getName();
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ArticleService articleService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ArticleRepository articleRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private User user;
+    private Article article;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        user = new User();
+        user.setUsername("cache_user");
+        user.setEmail("cache_user@example.com");
+        user.setPassword("encodedPassword");
+        user.setFullName("Cache User");
+        user = userRepository.save(user);
+        
+        article = new Article();
+        article.setTitle("Cached Article");
+        article.setAuthors("Author");
+        article.setTopic("Caching");
+        article.setPdfFilePath("missing.pdf");
+        article.setUser(user);
+        article = articleRepository.save(article);
+        
+        entityManagerFactory.getCache().evictAll();
+    }
+    
+    @AfterEach
+    void tearDown() throws Exception {
+        User current = userService.findById(user.getId());
+        if (current.getAvatarPath() != null) {
+            Files.deleteIfExists(Paths.get("." + current.getAvatarPath()));
+        }
+        // Нативный SQL: мягко удалённая статья скрыта @SQLRestriction
+        jdbcTemplate.update("DELETE FROM articles WHERE id = ?", article.getId());
+        userRepository.deleteById(user.getId());
+        entityManagerFactory.getCache().evictAll();
+    }
+    
+    @Test
+    void testFindUserById_SecondReadIsCacheHit() {
+        userService.findById(user.getId());
+        long hits = regionHits(USER_REGION);
+        
+        userService.findById(user.getId());
+        
+        assertEquals(hits + 1, regionHits(USER_REGION));
+    }
+    
+    @Test
+    void testFindByUsername_SecondReadIsQueryCacheHit() {
+        userService.findByUsername("cache_user");
+        long queryHits = statistics.getQueryCacheHitCount();
+        
+        assertTrue(userService.findByUsername("cache_user").isPresent());
+        
+        assertEquals(queryHits + 1, statistics.getQueryCacheHitCount());
+    }
+    
+    @Test
+    void testFindArticleById_SecondReadIsCacheHit() {
+        articleService.getArticleById(article.getId());
+        long hits = regionHits(ARTICLE_REGION);
+        
+        articleService.getArticleById(article.getId());
+        
+        assertEquals(hits + 1, regionHits(ARTICLE_REGION));
+    }
+    
+    @Test
+    void testUpdateUserProfile_NextReadSeesNewState() {
+        userService.findById(user.getId());
+        userService.findByUsername("cache_user");
+        
+        User details = new User();
+        details.setFullName("Renamed User");
+        details.setEmail("renamed_user@example.com");
+        userService.updateUserProfile(user.getId(), details);
+        
+        assertEquals("Renamed User", userService.findById(user.getId()).getFullName());
+        assertEquals("renamed_user@example.com",
+                userService.findByUsername("cache_user").orElseThrow().getEmail());
+    }
+    
+    @Test
+    void testUploadAvatar_NextReadSeesNewState() {
+        userService.findById(user.getId());
+        userService.findByUsername("cache_user");
+        
+        userService.uploadAvatar(user.getId(),
+                new MockMultipartFile("avatar", "avatar.png", "image/png", new byte[] {1, 2, 3}));
+        
+        String avatarPath = userService.findById(user.getId()).getAvatarPath();
+        assertNotNull(avatarPath);
+        assertEquals(avatarPath, userService.findByUsername("cache_user").orElseThrow().getAvatarPath());
+    }
+    
+    @Test
+    void testUpdateArticle_NextReadSeesNewState() {
+        articleService.getArticleById(article.getId());
+        
+        Article details = new Article();
+        details.setTitle("Updated Title");
+        details.setTopic("Updated Topic");
+        articleService.updateArticle(article.getId(), details, null);
+        
+        Article reloaded = articleService.getArticleById(article.getId());
+        assertEquals("Updated Title", reloaded.getTitle());
+        assertEquals("Updated Topic", reloaded.getTopic());
+    }
+    
+    @Test
+    void testDeleteArticle_NextReadSeesDeletion() {
+        articleService.getArticleById(article.getId());
+        
+        articleService.deleteArticle(article.getId(), user);
+        
+        assertThrows(IllegalArgumentException.class, () -> articleService.getArticleById(article.getId()));
+    }
+    
+    private long regionHits(String region) {
+        return statistics.getDomainDataRegionStatistics(region).getHitCount();
+    }
+}
@@ -1,21 +1,30 @@
 package com.guap.articlecatalog.service;
 
 import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.metrics.StorageMetrics;
 import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import com.guap.articlecatalog.security.PrincipalFactory;
 import com.guap.articlecatalog.service.impl.UserServiceImpl;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,6 +39,15 @@ public class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
     
+    @Mock
+    private StorageMetrics storageMetrics;
+    
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+    
+    @Spy
+    private PrincipalFactory principalFactory = new PrincipalFactory();
+    
     @InjectMocks
     private UserServiceImpl userService;
     
@@ -59,6 +77,58 @@ public class UserServiceTest {
                 .anyMatch(auth -> auth.getAuthority().equals("USER")));
     }
     
+    @Test
+    void testLoadUserByUsername_ReturnsPrincipalSnapshot() {
+        testUser.setAvatarPath("/uploads/avatars/avatar_1.png");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        
+        UserDetails userDetails = userService.loadUserByUsername("testuser");
+        
+        CatalogUserPrincipal principal = assertInstanceOf(CatalogUserPrincipal.class, userDetails);
+        assertEquals(1L, principal.getId());
+        assertEquals("/uploads/avatars/avatar_1.png", principal.getAvatarPath());
+        assertTrue(principal.getRoles().contains("USER"));
+        
+        // Снимок не зависит от последующих изменений сущности
+        testUser.getRoles().add("ADMIN");
+        assertFalse(principal.getRoles().contains("ADMIN"));
+    }
+    
+    @Test
+    void testLoadUserByUsername_ConfiguredAdminGetsAdminAuthority() {
+        ReflectionTestUtils.setField(principalFactory, "adminUsernames", Set.of("testuser"));
+        testUser.getRoles().add("USER");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        
+        UserDetails userDetails = userService.loadUserByUsername("testuser");
+        
+        assertTrue(userDetails.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ADMIN")));
+        // Роль выдаётся только в снимке, запись пользователя не меняется
+        assertFalse(testUser.getRoles().contains("ADMIN"));
+    }
+    
+    @Test
+    void testLoadUserByUsername_OtherUsersAreNotAdmins() {
+        ReflectionTestUtils.setField(principalFactory, "adminUsernames", Set.of("admin"));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        
+        UserDetails userDetails = userService.loadUserByUsername("testuser");
+        
+        assertTrue(userDetails.getAuthorities().stream()
+                .noneMatch(auth -> auth.getAuthority().equals("ADMIN")));
+    }
+    
+    @Test
+    void testGetReference() {
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        
+        User reference = userService.getReference(1L);
+        
+        assertEquals(1L, reference.getId());
+        verify(userRepository, never()).findById(anyLong());
+    }
+    
     @Test
     void testLoadUserByUsername_NotFound() {
         when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
@@ -99,6 +169,18 @@ public class UserServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
     
+    @Test
+    void testInitTestUser_UsesPrecomputedHash() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+        
+        userService.initTestUser();
+        
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertTrue(new BCryptPasswordEncoder().matches("password123", saved.getValue().getPassword()));
+        verify(passwordEncoder, never()).encode(any());
+    }
+    
     @Test
     void testSaveUser_UsernameAlreadyExists() {
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
@@ -0,0 +1,225 @@
+package com.guap.articlecatalog.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Время старта собранного приложения в отдельной JVM: обычный исполняемый jar, jar после Spring AOT
+ * с архивом AppCDS (fast-start) и он же с профилем lazy. Время - от запуска процесса до строки
+ * "Started ...", каждый режим запускается startup.runs раз, сравниваются медианы.
+ * <p>
+ * Бюджеты заданы в startup.properties, отчёт пишется в target/startup-report.json.
+ * Запуск: mvn -Pfast-start verify (пути к jar и архиву передаёт профиль)
+ */
+@Tag("startup")
+public class StartupTimeTest {
+    
+    private static final Pattern STARTED = Pattern.compile(
+            "Started \\S+ in [\\d.]+ seconds \\(process running for ([\\d.]+)\\)");
+    private static final int OUTPUT_TAIL = 50;
+    
+    private final Properties config = loadConfig();
+    
+    @TempDir
+    Path uploadDir;
+    
+    private enum Mode {
+        JAR("jar"),
+        FAST_START("fast-start"),
+        FAST_START_LAZY("fast-start-lazy");
+        
+        private final String key;
+        
+        Mode(String key) {
+            this.key = key;
+        }
+        
+        String key() {
+            return key;
+        }
+    }
+    
+    private record Measurement(long wallMs, long jvmMs) {
+    }
+    
+    @Test
+    void testFastStartStaysWithinBudgets() throws Exception {
+        Path jar = Path.of(System.getProperty("startup.jar", "target/web-article-catalog-1.0.0.jar"));
+        Path fastStartJar = Path.of(System.getProperty("startup.fast-start.jar",
+                "target/fast-start/web-article-catalog-1.0.0-fast-start.jar"));
+        Path archive = Path.of(System.getProperty("startup.fast-start.archive", "target/fast-start/app.jsa"));
+        assumeTrue(Files.exists(jar) && Files.exists(fastStartJar) && Files.exists(archive),
+                "Нет собранных jar и архива AppCDS: замер запускается профилем fast-start");
+        
+        int runs = intConfig("startup.runs");
+        Map<Mode, List<Measurement>> measurements = new LinkedHashMap<>();
+        for (Mode mode : Mode.values()) {
+            List<String> command = command(mode, jar, fastStartJar, archive);
+            List<Measurement> results = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                results.add(measure(command));
+            }
+            measurements.put(mode, results);
+        }
+        
+        Map<Mode, Long> medians = new LinkedHashMap<>();
+        measurements.forEach((mode, results) -> medians.put(mode, median(results.stream().map(Measurement::wallMs).toList())));
+        double speedup = 100.0 * (medians.get(Mode.JAR) - medians.get(Mode.FAST_START)) / medians.get(Mode.JAR);
+        
+        medians.forEach((mode, median) -> System.out.printf("%-16s медиана %6d мс  %s%n", mode.key(), median,
+                measurements.get(mode).stream().map(m -> m.wallMs() + " мс").toList()));
+        System.out.printf("fast-start быстрее jar на %.1f%%%n", speedup);
+        writeReport(measurements, medians, speedup);
+        
+        List<String> violations = new ArrayList<>();
+        medians.forEach((mode, median) -> {
+            long budget = intConfig("budget." + mode.key() + ".max-ms");
+            if (median > budget) {
+                violations.add(String.format("%s: старт %d мс, бюджет %d мс", mode.key(), median, budget));
+            }
+        });
+        double minSpeedup = intConfig("budget.fast-start.min-speedup-percent");
+        if (speedup < minSpeedup) {
+            violations.add(String.format("fast-start быстрее jar на %.1f%%, нужно не меньше %.0f%%", speedup, minSpeedup));
+        }
+        
+        assertTrue(violations.isEmpty(), "Превышены бюджеты времени старта:\n" + String.join("\n", violations));
+    }
+    
+    private List<String> command(Mode mode, Path jar, Path fastStartJar, Path archive) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode == Mode.JAR) {
+            command.add("-jar");
+            command.add(jar.toString());
+        } else {
+            command.add("-XX:SharedArchiveFile=" + archive);
+            command.add("-Dspring.aot.enabled=true");
+            command.add("-jar");
+            command.add(fastStartJar.toString());
+        }
+        command.add("--server.port=0");
+        command.add("--app.upload.dir=" + uploadDir);
+        command.add("--spring.main.banner-mode=off");
+        command.add("--logging.level.root=WARN");
+        command.add("--logging.level.org.springframework.web=WARN");
+        command.add("--logging.level.org.springframework.security=WARN");
+        if (mode == Mode.FAST_START_LAZY) {
+            command.add("--spring.profiles.active=lazy");
+        }
+        return command;
+    }
+    
+    private Measurement measure(List<String> command) throws Exception {
+        long begin = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        CompletableFuture<Long> started = new CompletableFuture<>();
+        Thread reader = new Thread(() -> readOutput(process.getInputStream(), started), "startup-output");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            long jvmMs = started.get(intConfig("startup.timeout-seconds"), TimeUnit.SECONDS);
+            return new Measurement((System.nanoTime() - begin) / 1_000_000, jvmMs);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    // Вывод дочитывается до конца, чтобы процесс не встал на заполненном канале
+    private static void readOutput(InputStream output, CompletableFuture<Long> started) {
+        Deque<String> tail = new ArrayDeque<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(output, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    started.complete(Math.round(Double.parseDouble(matcher.group(1)) * 1000));
+                }
+                if (tail.size() == OUTPUT_TAIL) {
+                    tail.removeFirst();
+                }
+                tail.addLast(line);
+            }
+        } catch (IOException e) {
+            started.completeExceptionally(e);
+        }
+        started.completeExceptionally(new IllegalStateException(
+                "Приложение завершилось, не успев стартовать:\n" + String.join("\n", tail)));
+    }
+    
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+    
+    private void writeReport(Map<Mode, List<Measurement>> measurements, Map<Mode, Long> medians,
+                             double speedup) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runs", intConfig("startup.runs"));
+        Map<String, Object> modes = new LinkedHashMap<>();
+        measurements.forEach((mode, results) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("medianMs", medians.get(mode));
+            entry.put("wallMs", results.stream().map(Measurement::wallMs).toList());
+            entry.put("jvmReportedMs", results.stream().map(Measurement::jvmMs).toList());
+            modes.put(mode.key(), entry);
+        });
+        report.put("modes", modes);
+        report.put("fastStartSpeedupPercent", speedup);
+        
+        Path target = Path.of("target");
+        Files.createDirectories(target);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(target.resolve("startup-report.json").toFile(), report);
+    }
+    
+    private int intConfig(String key) {
+        return Integer.parseInt(config.getProperty(key).trim());
+    }
+    
+    // startup.properties, поверх - системные свойства (mvn -Pfast-start verify -Dstartup.runs=5)
+    private static Properties loadConfig() {
+        Properties properties = new Properties();
+        try (InputStream input = StartupTimeTest.class.getResourceAsStream("/startup.properties")) {
+            assertNotNull(input, "Нет startup.properties");
+            properties.load(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                properties.setProperty(key, override);
+            }
+        }
+        return properties;
+    }
+}
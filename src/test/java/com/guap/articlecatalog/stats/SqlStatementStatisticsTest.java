@@ -0,0 +1,56 @@
+package com.guap.articlecatalog.stats;
+
+import com.guap.articlecatalog.metrics.StatementCounter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatementStatisticsTest {
+    
+    private final StatementCounter inspector = new StatementCounter();
+    private final SqlStatementStatistics statistics = new SqlStatementStatistics();
+    
+    @Test
+    void testRepeatedStatementIsReportedAsNPlusOne() {
+        StatementCounter.start();
+        inspector.inspect("select a.id from articles a");
+        for (int i = 0; i < 12; i++) {
+            inspector.inspect("select u.id, u.username from users u where u.id=?");
+        }
+        StatementCounter.Statements statements = StatementCounter.stop();
+        
+        assertEquals(13, statements.getTotal());
+        assertEquals(12, statements.getMaxRepeats());
+        assertEquals("select u.id, u.username from users u where u.id=?", statements.getMostRepeated());
+        
+        statistics.record("GET", "/articles", statements);
+        Map<String, Object> snapshot = statistics.snapshot();
+        assertEquals(1L, snapshot.get("flaggedRequests"));
+        
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> offenders = (List<Map<String, Object>>) snapshot.get("offenders");
+        assertEquals(1, offenders.size());
+        assertEquals("GET /articles", offenders.get(0).get("route"));
+        assertEquals(1L, offenders.get(0).get("nPlusOneRequests"));
+        assertEquals(12, offenders.get(0).get("maxRepeats"));
+    }
+    
+    @Test
+    void testRequestsWithinThresholdsAreNotRecorded() {
+        StatementCounter.start();
+        inspector.inspect("select count(*) from articles a");
+        inspector.inspect("select a.id from articles a offset ? rows fetch first ? rows only");
+        statistics.record("GET", "/articles", StatementCounter.stop());
+        
+        // Операторы вне start()/stop() не считаются
+        inspector.inspect("select 1");
+        assertEquals(0, StatementCounter.stop().getTotal());
+        
+        Map<String, Object> snapshot = statistics.snapshot();
+        assertEquals(0L, snapshot.get("flaggedRequests"));
+        assertEquals(List.of(), snapshot.get("offenders"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.guap.articlecatalog.stats;
+
+import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Порог 0: любой запрос с обращением к БД попадает в сводку
+@SpringBootTest(properties = {"app.sql.max-statements=0", "app.ratelimit.enabled=false"})
+@AutoConfigureMockMvc
+public class SqlStatsEndpointTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    void testOffendingRoutesAreVisibleToAdminsOnly() throws Exception {
+        CatalogUserPrincipal principal = CatalogUserPrincipal.from(userRepository.findByUsername("testuser").orElseThrow());
+        mockMvc.perform(get("/articles").with(user(principal)))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/stats/sql").with(user(principal)))
+                .andExpect(status().isForbidden());
+        
+        mockMvc.perform(get("/stats/sql").with(user("admin").authorities(() -> "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxStatements").value(0))
+                .andExpect(jsonPath("$.offenders[*].route", hasItem("GET /articles")));
+    }
+}
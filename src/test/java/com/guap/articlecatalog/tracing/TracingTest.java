@@ -0,0 +1,163 @@
+package com.guap.articlecatalog.tracing;
+
+import com.guap.articlecatalog.model.Article;
+import com.guap.articlecatalog.model.User;
+import com.guap.articlecatalog.repository.UserRepository;
+import com.guap.articlecatalog.security.CatalogUserPrincipal;
+import com.guap.articlecatalog.service.ArticleService;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.ratelimit.enabled=false",
+        "app.upload.dir=target/tracing-test-uploads",
+        "management.tracing.enabled=true",
+        "management.tracing.sampling.probability=1.0",
+        "jdbc.datasource-proxy.enabled=true",
+        "jdbc.includes=QUERY"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class TracingTest {
+    
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private InMemorySpanExporter exporter;
+    
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+    
+    @Autowired
+    private ArticleService articleService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private User testUser;
+    private Article article;
+    
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.findByUsername("testuser").orElseThrow();
+        Article details = new Article();
+        details.setTitle("Трассировка запросов");
+        details.setAuthors("Иванов И.И.");
+        details.setTopic("Наблюдаемость");
+        article = articleService.saveArticle(details, testUser, new MockMultipartFile("pdfFile", "trace.pdf",
+                "application/pdf", "%PDF-1.4 trace".getBytes(StandardCharsets.US_ASCII)));
+        flush();
+        exporter.reset();
+    }
+    
+    @Test
+    void testViewRequestProducesNestedSpans() throws Exception {
+        mockMvc.perform(get("/articles/view/" + article.getId()).with(user(CatalogUserPrincipal.from(testUser))))
+                .andExpect(status().isOk());
+        
+        List<SpanData> spans = flush();
+        SpanData http = single(spans, "http get /articles/view/{id}");
+        assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(http.getTraceId())),
+                "Все спаны запроса должны входить в одну трассу");
+        
+        SpanData controller = single(spans, "article-controller#view-article");
+        SpanData service = single(spans, "article-service-impl#get-article-by-id");
+        SpanData render = single(spans, "render articles/view");
+        Map<String, SpanData> byId = spans.stream().collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+        // Между HTTP-спаном и контроллером - спаны цепочки фильтров Spring Security
+        assertTrue(descendsFrom(controller, http, byId));
+        assertEquals(controller.getSpanId(), service.getParentSpanId());
+        assertTrue(descendsFrom(render, http, byId));
+        assertFalse(descendsFrom(render, controller, byId), "Шаблон отрисовывается после выхода из контроллера");
+    }
+    
+    @Test
+    void testSearchStatementsAreChildrenOfServiceSpan() throws Exception {
+        mockMvc.perform(get("/articles").param("keyword", "Трассировка").with(user(CatalogUserPrincipal.from(testUser))))
+                .andExpect(status().isOk());
+        
+        List<SpanData> spans = flush();
+        SpanData service = single(spans, "article-service-impl#search-article-summaries");
+        Map<String, SpanData> byId = spans.stream().collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+        assertTrue(spans.stream().anyMatch(span -> span.getName().equals("query")
+                        && descendsFrom(span, service, byId)),
+                () -> "SQL-операторы сервиса должны быть его дочерними спанами: "
+                        + spans.stream().map(SpanData::getName).toList());
+    }
+    
+    @Test
+    void testDownloadRecordsFileReadSpan() throws Exception {
+        mockMvc.perform(get("/articles/download/" + article.getId()).with(user(CatalogUserPrincipal.from(testUser))))
+                .andExpect(status().isOk());
+        
+        List<SpanData> spans = flush();
+        SpanData read = single(spans, "file read");
+        assertEquals(single(spans, "article-service-impl#get-pdf-file").getSpanId(), read.getParentSpanId());
+        assertEquals("read", read.getAttributes().asMap().entrySet().stream()
+                .filter(entry -> entry.getKey().getKey().equals("operation"))
+                .map(entry -> String.valueOf(entry.getValue()))
+                .findFirst().orElse(null));
+    }
+    
+    @Test
+    void testUnsampledParentIsNotRecorded() throws Exception {
+        mockMvc.perform(get("/articles/view/" + article.getId()).with(user(CatalogUserPrincipal.from(testUser)))
+                        .header("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-00"))
+                .andExpect(status().isOk());
+        
+        assertTrue(flush().isEmpty(), "Спаны не отобранной трассы не должны экспортироваться");
+    }
+    
+    private List<SpanData> flush() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        return exporter.getFinishedSpanItems();
+    }
+    
+    private static SpanData single(List<SpanData> spans, String name) {
+        List<SpanData> matching = spans.stream().filter(span -> span.getName().equals(name)).toList();
+        assertEquals(1, matching.size(), () -> "Ожидался один спан " + name + ", есть: "
+                + spans.stream().map(SpanData::getName).toList());
+        return matching.get(0);
+    }
+    
+    private static boolean descendsFrom(SpanData span, SpanData ancestor, Map<String, SpanData> byId) {
+        for (SpanData current = span; current != null; current = byId.get(current.getParentSpanId())) {
+            if (current.getParentSpanId().equals(ancestor.getSpanId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}